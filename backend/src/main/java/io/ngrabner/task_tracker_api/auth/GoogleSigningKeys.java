@@ -0,0 +1,124 @@
+package io.ngrabner.task_tracker_api.auth;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Google's signing keys, fetched once and shared by every login. Refreshed in the background
+ * before the JWKS document's max-age runs out, and on demand when a token names a key we
+ * have not seen (rotation). A failed refresh keeps the previous keys; auth.google.jwks.age
+ * shows how stale they are.
+ */
+@Component
+public class GoogleSigningKeys {
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleSigningKeys.class);
+
+    // Used when the response carries no max-age
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+    private record KeySet(Map<String, PublicKey> keys, Instant fetchedAt, Instant refreshAt) {
+    }
+
+    private final JwksSource source;
+    // On-demand fetches (unknown kid, failed first load) happen at most this often
+    private final Duration minFetchInterval;
+    private final Counter fetched;
+    private final Counter failed;
+
+    private volatile KeySet current;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private Instant lastAttempt = Instant.EPOCH;
+
+    public GoogleSigningKeys(JwksSource source, MeterRegistry meterRegistry,
+            @Value("${app.google.jwks-min-fetch-interval:PT10S}") Duration minFetchInterval) {
+        this.source = source;
+        this.minFetchInterval = minFetchInterval;
+        this.fetched = meterRegistry.counter("auth.google.jwks.fetches", "outcome", "success");
+        this.failed = meterRegistry.counter("auth.google.jwks.fetches", "outcome", "failure");
+        Gauge.builder("auth.google.jwks.age", this, GoogleSigningKeys::ageSeconds)
+                .description("Seconds since Google's signing keys were last fetched")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // Null when the key is still unknown after a refetch
+    public PublicKey find(String keyId) {
+        KeySet keys = current;
+        if (keys == null || !keys.keys().containsKey(keyId)) {
+            keys = refresh(keys, true);
+        }
+        return keys != null ? keys.keys().get(keyId) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.google.jwks-refresh-check:PT1M}")
+    public void refreshIfDue() {
+        KeySet keys = current;
+        // Nothing to keep warm until the first login has loaded the keys
+        if (keys != null && !Instant.now().isBefore(keys.refreshAt())) {
+            refresh(keys, false);
+        }
+    }
+
+    double ageSeconds() {
+        KeySet keys = current;
+        return keys != null ? Duration.between(keys.fetchedAt(), Instant.now()).toMillis() / 1000.0 : Double.NaN;
+    }
+
+    // One fetch at a time; callers that queued behind it reuse its result.
+    // A lock rather than synchronized: it is held across an HTTP call.
+    private KeySet refresh(KeySet seen, boolean onDemand) {
+        refreshLock.lock();
+        try {
+            if (current != seen) {
+                return current;
+            }
+            Instant now = Instant.now();
+            if (onDemand && now.isBefore(lastAttempt.plus(minFetchInterval))) {
+                return seen;
+            }
+            lastAttempt = now;
+
+            try {
+                JwksSource.JwksDocument document = source.fetch();
+                Duration maxAge = document.maxAge() != null ? document.maxAge() : DEFAULT_MAX_AGE;
+                // Refresh at three quarters of the lifetime, so a slow or failed fetch has time to recover
+                current = new KeySet(parse(document.json()), now, now.plus(maxAge.multipliedBy(3).dividedBy(4)));
+                fetched.increment();
+            } catch (IOException | RuntimeException e) {
+                failed.increment();
+                log.warn("Could not fetch Google signing keys ({}); keeping the previous ones, age {}s",
+                        e.toString(), ageSeconds());
+            }
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static Map<String, PublicKey> parse(String json) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (Jwk<?> jwk : Jwks.setParser().build().parse(json).getKeys()) {
+            if (jwk.getId() != null && jwk.toKey() instanceof PublicKey key) {
+                keys.put(jwk.getId(), key);
+            }
+        }
+        return Map.copyOf(keys);
+    }
+}
@@ -1,18 +1,42 @@
 package io.ngrabner.task_tracker_api.auth;
 
-import com.google.auth.oauth2.TokenVerifier;
-import com.google.api.client.json.webtoken.JsonWebSignature;
-import com.google.api.client.json.webtoken.JsonWebToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.security.Key;
+import java.util.Set;
+
 @Service
 public class GoogleTokenVerifierService {
 
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+
     private final String googleClientId;
+    // Built once: the keys it checks signatures against live in GoogleSigningKeys
+    private final JwtParser parser;
 
-    public GoogleTokenVerifierService(@Value("${app.google.client-id:}") String googleClientId) {
+    public GoogleTokenVerifierService(@Value("${app.google.client-id:}") String googleClientId,
+            GoogleSigningKeys signingKeys) {
         this.googleClientId = googleClientId;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        Key key = header.getKeyId() != null ? signingKeys.find(header.getKeyId()) : null;
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .clockSkewSeconds(60)
+                .build();
     }
 
     public GoogleUserInfo verify(String idToken) throws Exception {
@@ -20,16 +44,18 @@ public class GoogleTokenVerifierService {
             throw new IllegalStateException("GOOGLE_CLIENT_ID is not set on the backend.");
         }
 
-        TokenVerifier verifier = TokenVerifier.newBuilder()
-                .setAudience(googleClientId)
-                .build();
-
-        JsonWebSignature token = verifier.verify(idToken);
-        JsonWebToken.Payload payload = token.getPayload();
+        // Signature (RS256 with a Google key), exp and nbf are checked by the parser
+        Claims payload = parser.parseSignedClaims(idToken).getPayload();
+        if (!ISSUERS.contains(payload.getIssuer())) {
+            throw new JwtException("Unexpected issuer " + payload.getIssuer());
+        }
+        if (payload.getAudience() == null || !payload.getAudience().contains(googleClientId)) {
+            throw new JwtException("Token was issued for another client");
+        }
 
         String sub = payload.getSubject();
-        String email = (String) payload.get("email");
-        String name = (String) payload.get("name");
+        String email = payload.get("email", String.class);
+        String name = payload.get("name", String.class);
 
         return new GoogleUserInfo(sub, email, name);
     }
@@ -0,0 +1,51 @@
+package io.ngrabner.task_tracker_api.auth;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Fetches a JWKS document over HTTP and reads its lifetime from Cache-Control
+public class HttpJwksSource implements JwksSource {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final URI uri;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    public HttpJwksSource(URI uri) {
+        this.uri = uri;
+    }
+
+    @Override
+    public JwksDocument fetch() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + uri, e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Fetching " + uri + " returned HTTP " + response.statusCode());
+        }
+
+        Duration maxAge = response.headers().firstValue("Cache-Control")
+                .map(MAX_AGE::matcher)
+                .filter(Matcher::find)
+                .map(m -> Duration.ofSeconds(Long.parseLong(m.group(1))))
+                .orElse(null);
+        return new JwksDocument(response.body(), maxAge);
+    }
+}
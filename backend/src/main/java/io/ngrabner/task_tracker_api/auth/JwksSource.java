@@ -0,0 +1,17 @@
+package io.ngrabner.task_tracker_api.auth;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Where Google's signing keys come from: Google's JWKS endpoint in production, a local
+ * stand-in for offline tests and login load runs.
+ */
+public interface JwksSource {
+
+    // maxAge is how long the document may be cached (Cache-Control max-age), or null if unknown
+    record JwksDocument(String json, Duration maxAge) {
+    }
+
+    JwksDocument fetch() throws IOException;
+}
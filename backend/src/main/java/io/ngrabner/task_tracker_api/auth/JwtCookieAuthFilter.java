@@ -1,27 +1,32 @@
 package io.ngrabner.task_tracker_api.auth;
 
-import io.jsonwebtoken.Claims;
-import io.ngrabner.task_tracker_api.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 public class JwtCookieAuthFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
     private final String cookieName;
+    // Lower-cased; these users get ROLE_ADMIN (actuator endpoints)
+    private final Set<String> adminEmails;
 
-    public JwtCookieAuthFilter(JwtService jwtService, String cookieName) {
-        this.jwtService = jwtService;
+    public JwtCookieAuthFilter(VerifiedTokenCache tokenCache, String cookieName, Set<String> adminEmails) {
+        this.tokenCache = tokenCache;
         this.cookieName = cookieName;
+        this.adminEmails = adminEmails;
     }
 
     @Override
@@ -35,15 +40,11 @@ public class JwtCookieAuthFilter extends OncePerRequestFilter {
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
                 String token = readCookie(request, cookieName);
                 if (token != null && !token.isBlank()) {
-                    Claims claims = jwtService.parseClaims(token);
+                    // Verified once per token, then served from the cache until it expires
+                    CurrentUser principal = tokenCache.authenticate(token);
 
-                    Long userId = Long.valueOf(claims.getSubject());
-                    String email = claims.get("email", String.class);
-
-                    CurrentUser principal = new CurrentUser(userId, email);
-
-                    // No roles for v1 -> empty authorities list
-                    var auth = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+                    // Only one role: admins, listed by email in app.security.admin-emails
+                    var auth = new UsernamePasswordAuthenticationToken(principal, null, authorities(principal));
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             }
@@ -55,6 +56,13 @@ public class JwtCookieAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private List<GrantedAuthority> authorities(CurrentUser user) {
+        if (user.email() != null && adminEmails.contains(user.email().toLowerCase(Locale.ROOT))) {
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        return List.of();
+    }
+
     private String readCookie(HttpServletRequest request, String name) {
         Cookie[] cookies = request.getCookies();
         if (cookies == null)
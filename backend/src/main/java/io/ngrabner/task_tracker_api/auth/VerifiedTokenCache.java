@@ -0,0 +1,66 @@
+package io.ngrabner.task_tracker_api.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.ngrabner.task_tracker_api.service.JwtService;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remembers tokens that already passed signature and expiry checks, so repeat requests with the
+ * same cookie skip HMAC verification and claims parsing. Keyed by a hash of the token (the token
+ * itself is never kept); each entry expires together with its token.
+ */
+public class VerifiedTokenCache {
+
+    // First 128 bits of SHA-256(token)
+    private record TokenHash(long high, long low) {}
+
+    private record Entry(CurrentUser user, Instant expiresAt) {}
+
+    private final JwtService jwtService;
+    // Caffeine: ConcurrentHashMap bins plus striped read/write buffers, so lookups do not contend
+    private final Cache<TokenHash, Entry> verified;
+
+    public VerifiedTokenCache(JwtService jwtService, long maxSize) {
+        this.jwtService = jwtService;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((TokenHash hash, Entry entry) ->
+                        Duration.between(Instant.now(), entry.expiresAt())))
+                .build();
+    }
+
+    // Throws like JwtService.parseClaims for invalid or expired tokens, which are never cached
+    public CurrentUser authenticate(String token) {
+        TokenHash hash = hash(token);
+        Entry entry = verified.getIfPresent(hash);
+        if (entry != null) {
+            return entry.user();
+        }
+
+        Claims claims = jwtService.parseClaims(token);
+        CurrentUser user = new CurrentUser(Long.valueOf(claims.getSubject()), claims.get("email", String.class));
+        if (claims.getExpiration() != null) {
+            verified.put(hash, new Entry(user, claims.getExpiration().toInstant()));
+        }
+        return user;
+    }
+
+    private static TokenHash hash(String token) {
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenHash(digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -21,7 +21,7 @@ public class CorsConfig {
 
         cfg.setAllowedOrigins(List.of(allowedOrigins.split(",")));
         cfg.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        cfg.setAllowedHeaders(List.of("Content-Type"));
+        cfg.setAllowedHeaders(List.of("Content-Type", "If-Match"));
         cfg.setAllowCredentials(true); // REQUIRED for HttpOnly cookie auth
 
         // Optional: cache preflight
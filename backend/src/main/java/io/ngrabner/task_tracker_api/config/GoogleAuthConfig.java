@@ -0,0 +1,21 @@
+package io.ngrabner.task_tracker_api.config;
+
+import io.ngrabner.task_tracker_api.auth.HttpJwksSource;
+import io.ngrabner.task_tracker_api.auth.JwksSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+
+@Configuration
+public class GoogleAuthConfig {
+
+    @Value("${app.google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}")
+    private URI jwksUri;
+
+    @Bean
+    JwksSource googleJwksSource() {
+        return new HttpJwksSource(jwksUri);
+    }
+}
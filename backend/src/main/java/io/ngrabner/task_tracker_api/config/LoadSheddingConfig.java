@@ -0,0 +1,35 @@
+package io.ngrabner.task_tracker_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.ngrabner.task_tracker_api.security.AdaptiveConcurrencyLimit;
+import io.ngrabner.task_tracker_api.security.LoadSheddingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "app.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Bean
+    AdaptiveConcurrencyLimit tasksConcurrencyLimit(
+            @Value("${app.load-shedding.initial-limit:20}") int initialLimit,
+            @Value("${app.load-shedding.min-limit:4}") int minLimit,
+            @Value("${app.load-shedding.max-limit:200}") int maxLimit,
+            @Value("${app.load-shedding.read-share:0.8}") double readShare) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, readShare);
+    }
+
+    // Right after RequestLoggingFilter, so shed requests are still logged, and before Spring Security
+    @Bean
+    FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(AdaptiveConcurrencyLimit tasksConcurrencyLimit,
+            MeterRegistry meterRegistry) {
+        var registration = new FilterRegistrationBean<>(new LoadSheddingFilter(tasksConcurrencyLimit, meterRegistry));
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
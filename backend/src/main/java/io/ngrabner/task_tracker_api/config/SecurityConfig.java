@@ -1,7 +1,9 @@
 package io.ngrabner.task_tracker_api.config;
 
 import io.ngrabner.task_tracker_api.auth.JwtCookieAuthFilter;
+import io.ngrabner.task_tracker_api.auth.VerifiedTokenCache;
 import io.ngrabner.task_tracker_api.service.JwtService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,8 +11,20 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import io.ngrabner.task_tracker_api.repository.RateLimitBucketRepository;
+import io.ngrabner.task_tracker_api.security.ApiQuotaFilter;
 import io.ngrabner.task_tracker_api.security.AuthRateLimitFilter;
-import io.ngrabner.task_tracker_api.security.FixedWindowRateLimiter;
+import io.ngrabner.task_tracker_api.security.ClusterRateLimiter;
+import io.ngrabner.task_tracker_api.security.QuotaRejections;
+import io.ngrabner.task_tracker_api.security.RateLimiter;
+import io.ngrabner.task_tracker_api.security.TokenBucketRateLimiter;
+import io.ngrabner.task_tracker_api.security.UserBulkhead;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Configuration
 public class SecurityConfig {
@@ -24,6 +38,41 @@ public class SecurityConfig {
     @Value("${app.security.auth-rate-limit.max-requests:10}")
     private int rlMaxRequests;
 
+    @Value("${app.security.auth-rate-limit.max-keys:100000}")
+    private long rlMaxKeys;
+
+    // "local": per instance; "postgres": one limit shared by all instances
+    @Value("${app.security.auth-rate-limit.store:local}")
+    private String rlStore;
+
+    @Value("${app.security.auth-rate-limit.local-batch:2}")
+    private int rlLocalBatch;
+
+    @Value("${app.security.api-quota.window-seconds:60}")
+    private long quotaWindowSeconds;
+
+    @Value("${app.security.api-quota.max-requests:600}")
+    private int quotaMaxRequests;
+
+    @Value("${app.security.api-quota.max-concurrent:4}")
+    private int quotaMaxConcurrent;
+
+    @Value("${app.security.api-quota.max-keys:100000}")
+    private long quotaMaxKeys;
+
+    @Value("${app.security.api-quota.store:local}")
+    private String quotaStore;
+
+    @Value("${app.security.api-quota.local-batch:10}")
+    private int quotaLocalBatch;
+
+    @Value("${app.jwt.verified-cache-max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    // Users allowed to read actuator endpoints other than health (metrics, quotas)
+    @Value("${app.security.admin-emails:}")
+    private List<String> adminEmails;
+
     public SecurityConfig(
             JwtService jwtService,
             @Value("${app.jwt.cookie-name:tt_access}") String cookieName) {
@@ -32,7 +81,28 @@ public class SecurityConfig {
     }
 
     @Bean
-    SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    RateLimiter authRateLimiter(RateLimitBucketRepository rateLimitBucketRepository) {
+        Duration window = Duration.ofSeconds(rlWindowSeconds);
+        if ("postgres".equalsIgnoreCase(rlStore)) {
+            return new ClusterRateLimiter("auth", rateLimitBucketRepository, window, rlMaxRequests, rlLocalBatch,
+                    rlMaxKeys);
+        }
+        return new TokenBucketRateLimiter(window, rlMaxRequests, rlMaxKeys);
+    }
+
+    @Bean
+    RateLimiter apiRateLimiter(RateLimitBucketRepository rateLimitBucketRepository) {
+        Duration window = Duration.ofSeconds(quotaWindowSeconds);
+        if ("postgres".equalsIgnoreCase(quotaStore)) {
+            return new ClusterRateLimiter("api", rateLimitBucketRepository, window, quotaMaxRequests,
+                    quotaLocalBatch, quotaMaxKeys);
+        }
+        return new TokenBucketRateLimiter(window, quotaMaxRequests, quotaMaxKeys);
+    }
+
+    @Bean
+    SecurityFilterChain filterChain(HttpSecurity http, RateLimiter authRateLimiter, RateLimiter apiRateLimiter,
+            QuotaRejections quotaRejections) throws Exception {
         http
                 .csrf(csrf -> csrf.disable()) // v1: OK; revisit CSRF later since you use cookies
                 .cors(cors -> {
@@ -40,6 +110,9 @@ public class SecurityConfig {
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (a task stream ending) belong to a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // public
                         .requestMatchers("/docs/**", "/api-docs/**", "/v3/api-docs/**", "/actuator/health").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
@@ -47,17 +120,25 @@ public class SecurityConfig {
                         // protected
                         .requestMatchers("/api/me").authenticated()
                         .requestMatchers("/api/tasks/**").authenticated()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         .anyRequest().permitAll())
 
                 .addFilterBefore(
-                        new AuthRateLimitFilter(new FixedWindowRateLimiter(rlWindowSeconds, rlMaxRequests)),
+                        new AuthRateLimitFilter(authRateLimiter),
                         UsernamePasswordAuthenticationFilter.class)
 
                 // Install JWT cookie filter
-                .addFilterBefore(new JwtCookieAuthFilter(jwtService, cookieName),
+                .addFilterBefore(
+                        new JwtCookieAuthFilter(new VerifiedTokenCache(jwtService, verifiedCacheMaxSize), cookieName,
+                                adminEmails()),
                         UsernamePasswordAuthenticationFilter.class)
 
+                // Per-user quota and concurrency cap on /api/tasks, once the user is known
+                .addFilterAfter(
+                        new ApiQuotaFilter(apiRateLimiter, new UserBulkhead(quotaMaxConcurrent), quotaRejections),
+                        JwtCookieAuthFilter.class)
+
                 // Prevent browser basic-auth popup + login redirects
                 .httpBasic(basic -> basic.disable())
                 .formLogin(form -> form.disable())
@@ -66,4 +147,12 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    private Set<String> adminEmails() {
+        return adminEmails.stream()
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
 }
@@ -0,0 +1,42 @@
+package io.ngrabner.task_tracker_api.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+// Written only by RateLimitBucketRepository.claim (V8); mapped so the schema is validated
+@Entity
+@Immutable
+@Table(name = "rate_limit_buckets")
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "key")
+    private String key;
+
+    // Database clock, microseconds since the epoch
+    @Column(name = "full_at_us", nullable = false)
+    private long fullAtMicros;
+
+    // Permits handed out by the last claim
+    @Column(name = "granted", nullable = false)
+    private int granted;
+
+    @Column(name = "seen_at_us", nullable = false)
+    private long seenAtMicros;
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getFullAtMicros() {
+        return fullAtMicros;
+    }
+
+    public int getGranted() {
+        return granted;
+    }
+
+    public long getSeenAtMicros() {
+        return seenAtMicros;
+    }
+}
@@ -1,14 +1,33 @@
 package io.ngrabner.task_tracker_api.domain;
 
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
 import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
 @Table(name = "tasks")
+// Maps native search results straight to TaskResponse (see TaskRepository), skipping entity hydration
+@SqlResultSetMapping(name = Task.RESPONSE_MAPPING, classes = @ConstructorResult(
+        targetClass = TaskResponse.class,
+        columns = {
+                @ColumnResult(name = "id", type = Long.class),
+                @ColumnResult(name = "title", type = String.class),
+                @ColumnResult(name = "description", type = String.class),
+                @ColumnResult(name = "status", type = String.class),
+                @ColumnResult(name = "created_at", type = Instant.class),
+                @ColumnResult(name = "updated_at", type = Instant.class),
+                @ColumnResult(name = "priority", type = String.class),
+                @ColumnResult(name = "due_at", type = Instant.class),
+                @ColumnResult(name = "version", type = Long.class)
+        }))
 public class Task {
 
+    public static final String RESPONSE_MAPPING = "TaskResponse";
+
+    // Pooled sequence (V5) instead of IDENTITY, which disables Hibernate insert batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -35,6 +54,11 @@ public class Task {
     @Column(nullable = false, updatable = false, name = "created_at")
     private Instant createdAt;
 
+    // Bumped by TaskRepository.updateIfVersion; exposed as the task's ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -99,6 +123,10 @@ public class Task {
         this.dueAt = dueAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Instant getUpdatedAt() {
         return updatedAt;
     }
@@ -0,0 +1,61 @@
+package io.ngrabner.task_tracker_api.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+// Maintained by the tasks_stats_* triggers (V4); never written through JPA
+@Entity
+@Immutable
+@Table(name = "task_stats")
+public class TaskStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "todo_count", nullable = false)
+    private long todoCount;
+
+    @Column(name = "in_progress_count", nullable = false)
+    private long inProgressCount;
+
+    @Column(name = "done_count", nullable = false)
+    private long doneCount;
+
+    // Bumped on every write to the user's tasks; the basis of the task list ETags
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTodoCount() {
+        return todoCount;
+    }
+
+    public long getInProgressCount() {
+        return inProgressCount;
+    }
+
+    public long getDoneCount() {
+        return doneCount;
+    }
+
+    public long getTotal() {
+        return todoCount + inProgressCount + doneCount;
+    }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package io.ngrabner.task_tracker_api.repository;
+
+import io.ngrabner.task_tracker_api.domain.RateLimitBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    interface Claim {
+        // Permits handed out, 0..want
+        int getGranted();
+
+        // How far the bucket's full time is ahead of now, in microseconds
+        long getAheadMicros();
+    }
+
+    // Token bucket (GCRA) on the database clock, in one atomic upsert: hands out up to :want of
+    // the permits the key has left. Every SET expression sees the row as it was before the update.
+    @Transactional
+    @NativeQuery("""
+        INSERT INTO rate_limit_buckets AS b (key, full_at_us, granted, seen_at_us)
+        SELECT :key, t.now + LEAST(:want, :maxRequests) * :intervalUs, LEAST(:want, :maxRequests), t.now
+        FROM (SELECT (extract(epoch FROM clock_timestamp()) * 1000000)::bigint AS now) t
+        ON CONFLICT (key) DO UPDATE SET
+          granted = LEAST(:want, GREATEST(0,
+              (EXCLUDED.seen_at_us + :windowUs - GREATEST(b.full_at_us, EXCLUDED.seen_at_us)) / :intervalUs)),
+          full_at_us = GREATEST(b.full_at_us, EXCLUDED.seen_at_us) + :intervalUs * LEAST(:want, GREATEST(0,
+              (EXCLUDED.seen_at_us + :windowUs - GREATEST(b.full_at_us, EXCLUDED.seen_at_us)) / :intervalUs)),
+          seen_at_us = EXCLUDED.seen_at_us
+        RETURNING granted AS "granted", full_at_us - seen_at_us AS "aheadMicros"
+        """)
+    Claim claim(@Param("key") String key, @Param("want") int want, @Param("maxRequests") int maxRequests,
+            @Param("intervalUs") long intervalMicros, @Param("windowUs") long windowMicros);
+
+    // A bucket that is full again is the same as no row at all
+    @Transactional
+    @Modifying
+    @NativeQuery("DELETE FROM rate_limit_buckets WHERE full_at_us < (extract(epoch FROM clock_timestamp()) * 1000000)::bigint")
+    int deleteFull();
+}
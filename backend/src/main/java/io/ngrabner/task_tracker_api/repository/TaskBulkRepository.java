@@ -0,0 +1,34 @@
+package io.ngrabner.task_tracker_api.repository;
+
+import io.ngrabner.task_tracker_api.web.dto.task.BulkTaskResponse;
+
+import java.util.List;
+
+public interface TaskBulkRepository {
+
+    /**
+     * Single set-based UPDATE of at most {@code limit} of the user's matching tasks that are not
+     * already in {@code newStatus} (so repeating the call always makes progress).
+     * Selectors are optional and combined with AND: ids, tsQuery (full-text) or likePattern
+     * (substring), status. No entities are loaded.
+     */
+    BulkTaskResponse updateStatusMatching(
+            Long userId,
+            List<Long> ids,
+            String tsQuery,
+            String likePattern,
+            String status,
+            String newStatus,
+            int limit
+    );
+
+    /** Single set-based DELETE of at most {@code limit} matching tasks; same selectors as above. */
+    BulkTaskResponse deleteMatching(
+            Long userId,
+            List<Long> ids,
+            String tsQuery,
+            String likePattern,
+            String status,
+            int limit
+    );
+}
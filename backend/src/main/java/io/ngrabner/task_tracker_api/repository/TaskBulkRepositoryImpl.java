@@ -0,0 +1,85 @@
+package io.ngrabner.task_tracker_api.repository;
+
+import io.ngrabner.task_tracker_api.web.dto.task.BulkTaskResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.List;
+
+class TaskBulkRepositoryImpl implements TaskBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public BulkTaskResponse updateStatusMatching(
+            Long userId,
+            List<Long> ids,
+            String tsQuery,
+            String likePattern,
+            String status,
+            String newStatus,
+            int limit) {
+        String filter = filter(ids, tsQuery, likePattern, status) + " AND t.status <> :newStatus";
+        // Bumping version moves each task's ETag on, so stale If-Match / If-None-Match no longer pass
+        Query query = entityManager.createNativeQuery(capped(filter,
+                "UPDATE tasks t SET status = :newStatus, updated_at = now(), version = t.version + 1"))
+                .setParameter("newStatus", newStatus);
+        return execute(query, userId, ids, tsQuery, likePattern, status, limit);
+    }
+
+    @Override
+    public BulkTaskResponse deleteMatching(
+            Long userId,
+            List<Long> ids,
+            String tsQuery,
+            String likePattern,
+            String status,
+            int limit) {
+        String filter = filter(ids, tsQuery, likePattern, status);
+        Query query = entityManager.createNativeQuery(capped(filter, "DELETE FROM tasks t"));
+        return execute(query, userId, ids, tsQuery, likePattern, status, limit);
+    }
+
+    private static String filter(List<Long> ids, String tsQuery, String likePattern, String status) {
+        StringBuilder filter = new StringBuilder("t.user_id = :userId");
+        if (ids != null) {
+            filter.append(" AND t.id IN (:ids)");
+        }
+        if (status != null) {
+            filter.append(" AND t.status = :status");
+        }
+        if (tsQuery != null) {
+            filter.append(" AND t.search_vector @@ to_tsquery('simple', :tsQuery)");
+        }
+        if (likePattern != null) {
+            filter.append(" AND (LOWER(t.title) LIKE :likePattern OR LOWER(t.description) LIKE :likePattern)");
+        }
+        return filter.toString();
+    }
+
+    // Picks up to limit + 1 matching ids: the extra one only tells us whether more rows are left.
+    // The filter is repeated on the modifying statement so rows changed concurrently are rechecked.
+    private static String capped(String filter, String modify) {
+        return """
+                WITH target AS (SELECT t.id FROM tasks t WHERE %1$s LIMIT :limit + 1),
+                     changed AS (%2$s WHERE t.id IN (SELECT id FROM target LIMIT :limit) AND %1$s RETURNING 1)
+                SELECT (SELECT count(*) FROM changed), (SELECT count(*) FROM target)
+                """.formatted(filter, modify);
+    }
+
+    private static BulkTaskResponse execute(Query query, Long userId, List<Long> ids, String tsQuery,
+            String likePattern, String status, int limit) {
+        query.setParameter("userId", userId).setParameter("limit", limit);
+        if (ids != null) query.setParameter("ids", ids);
+        if (status != null) query.setParameter("status", status);
+        if (tsQuery != null) query.setParameter("tsQuery", tsQuery);
+        if (likePattern != null) query.setParameter("likePattern", likePattern);
+
+        Object[] counts = (Object[]) query.getSingleResult();
+        int affected = ((Number) counts[0]).intValue();
+        boolean hasMore = ((Number) counts[1]).intValue() > limit;
+        return new BulkTaskResponse(affected, hasMore);
+    }
+}
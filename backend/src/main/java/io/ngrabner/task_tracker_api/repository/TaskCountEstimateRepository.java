@@ -0,0 +1,14 @@
+package io.ngrabner.task_tracker_api.repository;
+
+/**
+ * Planner row estimates for the search filters: EXPLAIN only, no rows are read.
+ * Accuracy depends on table statistics, so treat the result as approximate.
+ */
+public interface TaskCountEstimateRepository {
+
+    long estimateSubstringMatches(Long userId, String query, String status);
+
+    long estimateFullTextMatches(Long userId, String tsQuery, String status);
+
+    long estimateFuzzyMatches(Long userId, String query, String status);
+}
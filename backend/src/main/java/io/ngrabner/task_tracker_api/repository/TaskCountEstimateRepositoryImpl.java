@@ -0,0 +1,55 @@
+package io.ngrabner.task_tracker_api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class TaskCountEstimateRepositoryImpl implements TaskCountEstimateRepository {
+
+    // Native twin of TaskRepository.SUBSTRING_MATCH (which is JPQL)
+    private static final String SUBSTRING_MATCH_SQL = """
+        t.user_id = :userId
+          AND (COALESCE(:query, '') = '' OR LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%'))
+               OR LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%')))
+          AND (COALESCE(:status, '') = '' OR t.status = :status)
+        """;
+
+    // First plan line looks like "Bitmap Heap Scan on tasks t  (cost=12.08..1590.34 rows=612 width=4)"
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long estimateSubstringMatches(Long userId, String query, String status) {
+        return explainRows(SUBSTRING_MATCH_SQL, userId, "query", query, status);
+    }
+
+    @Override
+    public long estimateFullTextMatches(Long userId, String tsQuery, String status) {
+        return explainRows(TaskRepository.FULL_TEXT_MATCH, userId, "tsQuery", tsQuery, status);
+    }
+
+    @Override
+    public long estimateFuzzyMatches(Long userId, String query, String status) {
+        return explainRows(TaskRepository.FUZZY_MATCH, userId, "query", query, status);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long explainRows(String match, Long userId, String textParam, String text, String status) {
+        Query query = entityManager.createNativeQuery("EXPLAIN SELECT 1 FROM tasks t WHERE " + match)
+                .setParameter("userId", userId)
+                .setParameter(textParam, text)
+                .setParameter("status", status);
+        List<String> plan = query.getResultList();
+        if (plan.isEmpty()) {
+            return 0;
+        }
+        Matcher m = PLAN_ROWS.matcher(plan.get(0));
+        return m.find() ? Long.parseLong(m.group(1)) : 0;
+    }
+}
@@ -0,0 +1,27 @@
+package io.ngrabner.task_tracker_api.repository;
+
+import io.ngrabner.task_tracker_api.domain.Task;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskKeysetRepository {
+
+    /**
+     * Seeks past (afterValue, afterId) in (sortColumn, id) order and returns up to
+     * {@code limit} rows. Pass a null afterId for the first page. Only timestamp
+     * columns backed by an index are accepted as the sort column.
+     * Text filters are optional: tsQuery (full-text) or likePattern (substring).
+     */
+    List<Task> findPageAfter(
+            Long userId,
+            String tsQuery,
+            String likePattern,
+            String status,
+            String sortColumn,
+            boolean ascending,
+            Instant afterValue,
+            Long afterId,
+            int limit
+    );
+}
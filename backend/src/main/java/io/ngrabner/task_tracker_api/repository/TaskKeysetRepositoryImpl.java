@@ -0,0 +1,81 @@
+package io.ngrabner.task_tracker_api.repository;
+
+import io.ngrabner.task_tracker_api.domain.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+class TaskKeysetRepositoryImpl implements TaskKeysetRepository {
+
+    // Column names are spliced into SQL, so only these are allowed
+    private static final Set<String> SORT_COLUMNS = Set.of("created_at", "updated_at");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findPageAfter(
+            Long userId,
+            String tsQuery,
+            String likePattern,
+            String status,
+            String sortColumn,
+            boolean ascending,
+            Instant afterValue,
+            Long afterId,
+            int limit) {
+        if (!SORT_COLUMNS.contains(sortColumn)) {
+            throw new IllegalArgumentException("Unsupported keyset column: " + sortColumn);
+        }
+
+        StringBuilder filter = new StringBuilder("t.user_id = :userId");
+        if (status != null) {
+            filter.append(" AND t.status = :status");
+        }
+        if (tsQuery != null) {
+            filter.append(" AND t.search_vector @@ to_tsquery('simple', :tsQuery)");
+        }
+        if (likePattern != null) {
+            filter.append(" AND (LOWER(t.title) LIKE :likePattern OR LOWER(t.description) LIKE :likePattern)");
+        }
+
+        // "col <= v AND (col < v OR id < lastId)" rather than a row comparison: the non-strict
+        // bound is an index condition on (user_id, col), so the scan starts at the cursor
+        // instead of filtering its way there from the first row.
+        String seek = "";
+        if (afterId != null) {
+            String op = ascending ? ">" : "<";
+            seek = " AND t.%1$s %2$s= :afterValue AND (t.%1$s %2$s :afterValue OR t.id %2$s :afterId)"
+                    .formatted(sortColumn, op);
+        }
+
+        String direction = ascending ? "ASC" : "DESC";
+        String order = " ORDER BY t.%1$s %2$s, t.id %2$s LIMIT :limit".formatted(sortColumn, direction);
+
+        String sql;
+        if (tsQuery != null) {
+            // Match first, then seek: same plan guard as TaskRepository.FULL_TEXT_SELECT
+            sql = "WITH matches AS MATERIALIZED (SELECT t.* FROM tasks t WHERE " + filter + ")"
+                    + " SELECT t.* FROM matches t WHERE true" + seek + order;
+        } else {
+            sql = "SELECT t.* FROM tasks t WHERE " + filter + seek + order;
+        }
+
+        Query query = entityManager.createNativeQuery(sql, Task.class)
+                .setParameter("userId", userId)
+                .setParameter("limit", limit);
+        if (status != null) query.setParameter("status", status);
+        if (tsQuery != null) query.setParameter("tsQuery", tsQuery);
+        if (likePattern != null) query.setParameter("likePattern", likePattern);
+        if (afterId != null) {
+            query.setParameter("afterValue", afterValue);
+            query.setParameter("afterId", afterId);
+        }
+        return query.getResultList();
+    }
+}
@@ -1,34 +1,255 @@
 package io.ngrabner.task_tracker_api.repository;
 
 import io.ngrabner.task_tracker_api.domain.Task;
-import org.springframework.data.domain.Page;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskKeysetRepository, TaskCountEstimateRepository,
+        TaskBulkRepository {
+
+    // Shared WHERE clauses, so the slice and count queries can't drift apart
+
+    String SUBSTRING_MATCH = """
+        t.userId = :userId
+          AND (COALESCE(:query, '') = '' OR LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%'))
+               OR LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%')))
+          AND (COALESCE(:status, '') = '' OR t.status = :status)
+        """;
+
+    String FULL_TEXT_MATCH = """
+        t.user_id = :userId
+          AND t.search_vector @@ to_tsquery('simple', :tsQuery)
+          AND (COALESCE(:status, '') = '' OR t.status = :status)
+        """;
+
+    String FUZZY_MATCH = """
+        t.user_id = :userId
+          AND (:query <% t.title OR :query <% t.description)
+          AND (COALESCE(:status, '') = '' OR t.status = :status)
+        """;
+
+    // Every mapped column except search_vector, which is never read back
+    String TASK_COLUMNS =
+        "t.id, t.user_id, t.title, t.description, t.status, t.priority, t.due_at, t.created_at, t.updated_at, t.version";
+
+    // The CTE is MATERIALIZED so the planner cannot walk idx_tasks_user_created_at and filter
+    // row by row, which is what it picks for ORDER BY ... LIMIT and is a full scan for rare terms.
+    String FULL_TEXT_SELECT = "WITH matches AS MATERIALIZED (SELECT " + TASK_COLUMNS + " FROM tasks t WHERE "
+        + FULL_TEXT_MATCH + """
+        )
+        SELECT t.* FROM matches t
+        """;
+
+    String FULL_TEXT_BY_RANK_SELECT = "SELECT " + TASK_COLUMNS + " FROM tasks t WHERE " + FULL_TEXT_MATCH + """
+        ORDER BY ts_rank(t.search_vector, to_tsquery('simple', :tsQuery)) DESC, t.created_at DESC
+        """;
+
+    String FULL_TEXT_COUNT = "SELECT count(*) FROM tasks t WHERE " + FULL_TEXT_MATCH;
+
+    // Broad queries ("inv") can match a large share of a user's rows, so only the best
+    // :maxCandidates are ranked. Each column's closest matches come from its GiST trigram index in
+    // distance order (<<->); together they hold the best by the combined score, in which title
+    // similarity outweighs description similarity.
+    String FUZZY_BY_TITLE = "SELECT " + TASK_COLUMNS + " FROM tasks t"
+        + " WHERE t.user_id = :userId AND :query <% t.title AND (COALESCE(:status, '') = '' OR t.status = :status)"
+        + " ORDER BY :query <<-> t.title LIMIT :maxCandidates";
+
+    String FUZZY_BY_DESCRIPTION = "SELECT " + TASK_COLUMNS + " FROM tasks t"
+        + " WHERE t.user_id = :userId AND :query <% t.description AND (COALESCE(:status, '') = '' OR t.status = :status)"
+        + " ORDER BY :query <<-> t.description LIMIT :maxCandidates";
+
+    String FUZZY_SELECT = "WITH candidates AS MATERIALIZED ((" + FUZZY_BY_TITLE + ") UNION (" + FUZZY_BY_DESCRIPTION
+        + """
+        )),
+        ranked AS (
+            SELECT t.*,
+                   GREATEST(word_similarity(:query, t.title), 0.8 * word_similarity(:query, t.description)) AS score
+            FROM candidates t
+            ORDER BY score DESC, t.created_at DESC
+            LIMIT :maxCandidates
+        )
+        SELECT t.* FROM ranked t
+        ORDER BY t.score DESC, t.created_at DESC
+        """;
+
+    // Counts one past the cap, so a result above :maxCandidates means some matches were not ranked
+    String FUZZY_COUNT =
+        "SELECT count(*) FROM (SELECT 1 FROM tasks t WHERE " + FUZZY_MATCH + " LIMIT :maxCandidates + 1) c";
+
+    String RESPONSE = """
+        new io.ngrabner.task_tracker_api.web.dto.task.TaskResponse(
+            t.id, t.title, t.description, t.status, t.createdAt, t.updatedAt, t.priority, t.dueAt, t.version)
+        """;
+
+    // Read path pages are at most 100 rows plus one look-ahead row: fetch them in one round trip
+    String READ_FETCH_SIZE = "101";
+
+    // Exports read through a server-side cursor this many rows at a time
+    String EXPORT_FETCH_SIZE = "1000";
 
     Optional<Task> findByIdAndUserId(Long id, Long userId);
 
     List<Task> findAllByUserIdOrderByCreatedAtDesc(Long userId);
 
-    void deleteByIdAndUserId(Long id, Long userId);
+    // --- Writes: one statement each, no read first. 0 rows means missing or stale (see findVersion).
 
-    @Query("""
-        SELECT t FROM Task t
-        WHERE t.userId = :userId
-          AND (COALESCE(:query, '') = '' OR LOWER(t.title) LIKE LOWER(CONCAT('%', :query, '%'))
-               OR LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%')))
-          AND (COALESCE(:status, '') = '' OR t.status = :status)
-        """)
-    Page<Task> searchTasks(
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.userId = :userId AND t.version = :version")
+    int deleteByIdAndUserIdAndVersion(@Param("id") Long id, @Param("userId") Long userId,
+            @Param("version") long version);
+
+    // Null fields are left unchanged; a null expectedVersion skips the version check
+    @NativeQuery(value = """
+        UPDATE tasks t SET
+          title = COALESCE(:title, t.title),
+          description = COALESCE(:description, t.description),
+          status = COALESCE(:status, t.status),
+          updated_at = now(),
+          version = t.version + 1
+        WHERE t.id = :id AND t.user_id = :userId
+          AND (CAST(:expectedVersion AS BIGINT) IS NULL OR t.version = CAST(:expectedVersion AS BIGINT))
+        RETURNING t.id, t.title, t.description, t.status, t.created_at, t.updated_at, t.priority, t.due_at, t.version
+        """, sqlResultSetMapping = Task.RESPONSE_MAPPING)
+    Optional<TaskResponse> updateIfVersion(
+            @Param("id") Long id,
+            @Param("userId") Long userId,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("status") String status,
+            @Param("expectedVersion") Long expectedVersion
+    );
+
+    // Only consulted after a write matched no row, to tell 404 from 412
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id AND t.userId = :userId")
+    Optional<Long> findVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    // --- Read path: mapped straight to TaskResponse (no managed entities, no dirty-check
+    // snapshots). Slices only; totals come from the count* queries below when needed.
+
+    @Query("SELECT " + RESPONSE + " FROM Task t WHERE t.id = :id AND t.userId = :userId")
+    Optional<TaskResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Substring fallback: cannot use an index, scans all of the user's rows
+    @Query("SELECT " + RESPONSE + " FROM Task t WHERE " + SUBSTRING_MATCH)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = READ_FETCH_SIZE))
+    Slice<TaskResponse> sliceResponses(
             @Param("userId") Long userId,
             @Param("query") String query,
             @Param("status") String status,
             Pageable pageable
     );
+
+    // Full-text search served by idx_tasks_user_search_vector. Sort must use column names.
+    @NativeQuery(value = FULL_TEXT_SELECT, sqlResultSetMapping = Task.RESPONSE_MAPPING)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = READ_FETCH_SIZE))
+    Slice<TaskResponse> sliceResponsesFullText(
+            @Param("userId") Long userId,
+            @Param("tsQuery") String tsQuery,
+            @Param("status") String status,
+            Pageable pageable
+    );
+
+    // Same match, ordered by relevance (title hits outrank description hits)
+    @NativeQuery(value = FULL_TEXT_BY_RANK_SELECT, sqlResultSetMapping = Task.RESPONSE_MAPPING)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = READ_FETCH_SIZE))
+    Slice<TaskResponse> sliceResponsesFullTextByRank(
+            @Param("userId") Long userId,
+            @Param("tsQuery") String tsQuery,
+            @Param("status") String status,
+            Pageable pageable
+    );
+
+    // Fuzzy search served by the trigram indexes. Matches when the query is close to some
+    // part of the title/description (threshold: pg_trgm.word_similarity_threshold).
+    @NativeQuery(value = FUZZY_SELECT, sqlResultSetMapping = Task.RESPONSE_MAPPING)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = READ_FETCH_SIZE))
+    Slice<TaskResponse> sliceResponsesFuzzy(
+            @Param("userId") Long userId,
+            @Param("query") String query,
+            @Param("status") String status,
+            @Param("maxCandidates") int maxCandidates,
+            Pageable pageable
+    );
+
+    // Export: every task of the user, newest first. Needs a transaction (the cursor lives in it)
+    // and must be closed; rows are not managed, so the persistence context stays empty.
+    @Query("SELECT " + RESPONSE + " FROM Task t WHERE t.userId = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    Stream<TaskResponse> streamResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT count(t) FROM Task t WHERE " + SUBSTRING_MATCH)
+    long countTasks(@Param("userId") Long userId, @Param("query") String query, @Param("status") String status);
+
+    @NativeQuery(FULL_TEXT_COUNT)
+    long countTasksFullText(@Param("userId") Long userId, @Param("tsQuery") String tsQuery,
+            @Param("status") String status);
+
+    @NativeQuery(FUZZY_COUNT)
+    long countTasksFuzzy(@Param("userId") Long userId, @Param("query") String query,
+            @Param("status") String status, @Param("maxCandidates") int maxCandidates);
+
+    // Served by idx_tasks_user_open_due_at: reads only the user's open tasks that have a due date
+    @Query("SELECT count(t) FROM Task t WHERE t.userId = :userId AND t.status <> 'DONE' AND t.dueAt < :now")
+    long countOverdue(@Param("userId") Long userId, @Param("now") Instant now);
+
+    // --- Delta sync (V9): rows written, and tombstones left, by transactions that the :since
+    // snapshot did not see. Range scans of idx_tasks_user_change_xid and its tombstone twin.
+
+    // Under REPEATABLE READ this is the snapshot every query of the transaction reads from
+    @NativeQuery("SELECT CAST(pg_current_snapshot() AS text)")
+    String currentSnapshot();
+
+    @NativeQuery(value = "SELECT " + TASK_COLUMNS + """
+         FROM tasks t
+        WHERE t.user_id = :userId
+          AND t.change_xid >= pg_snapshot_xmin(CAST(:since AS pg_snapshot))
+          AND NOT pg_visible_in_snapshot(t.change_xid, CAST(:since AS pg_snapshot))
+        ORDER BY t.id
+        LIMIT :limit
+        """, sqlResultSetMapping = Task.RESPONSE_MAPPING)
+    List<TaskResponse> findChangedSince(@Param("userId") Long userId, @Param("since") String since,
+            @Param("limit") int limit);
+
+    @NativeQuery("""
+        SELECT DISTINCT d.task_id FROM task_tombstones d
+        WHERE d.user_id = :userId
+          AND d.deleted_xid >= pg_snapshot_xmin(CAST(:since AS pg_snapshot))
+          AND NOT pg_visible_in_snapshot(d.deleted_xid, CAST(:since AS pg_snapshot))
+        ORDER BY d.task_id
+        LIMIT :limit
+        """)
+    List<Long> findDeletedIdsSince(@Param("userId") Long userId, @Param("since") String since,
+            @Param("limit") int limit);
+
+    // One batch of tombstones older than :before, oldest first
+    @Transactional
+    @Modifying
+    @NativeQuery("""
+        DELETE FROM task_tombstones WHERE ctid IN (
+          SELECT ctid FROM task_tombstones WHERE deleted_at < :before ORDER BY deleted_at LIMIT :limit)
+        """)
+    int deleteTombstonesBefore(@Param("before") Instant before, @Param("limit") int limit);
+
+    // Transaction-scoped, so it only affects the fuzzy search that follows it
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") String threshold);
 }
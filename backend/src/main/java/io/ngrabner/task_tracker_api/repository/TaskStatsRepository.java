@@ -0,0 +1,48 @@
+package io.ngrabner.task_tracker_api.repository;
+
+import io.ngrabner.task_tracker_api.domain.TaskStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskStatsRepository extends JpaRepository<TaskStats, Long> {
+
+    @Query("SELECT s.changeVersion FROM TaskStats s WHERE s.userId = :userId")
+    Optional<Long> findChangeVersion(@Param("userId") Long userId);
+
+    // --- Reconciliation: run all three in one transaction, in this order ---
+
+    @Modifying
+    @Query(value = "INSERT INTO task_stats (user_id) VALUES (:userId) ON CONFLICT (user_id) DO NOTHING",
+        nativeQuery = true)
+    int ensureRow(@Param("userId") Long userId);
+
+    // Blocks the triggers for this user, so the recount below sees every committed write
+    @Query(value = "SELECT user_id FROM task_stats WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+    Long lockRow(@Param("userId") Long userId);
+
+    // Returns 1 when the stored counts had drifted and were corrected, 0 otherwise
+    @Modifying
+    @Query(value = """
+        UPDATE task_stats s SET
+          todo_count = a.todo_count,
+          in_progress_count = a.in_progress_count,
+          done_count = a.done_count,
+          updated_at = now()
+        FROM (SELECT count(*) FILTER (WHERE status = 'TODO') AS todo_count,
+                     count(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_count,
+                     count(*) FILTER (WHERE status = 'DONE') AS done_count
+              FROM tasks WHERE user_id = :userId) a
+        WHERE s.user_id = :userId
+          AND (s.todo_count, s.in_progress_count, s.done_count)
+              IS DISTINCT FROM (a.todo_count, a.in_progress_count, a.done_count)
+        """, nativeQuery = true)
+    int recount(@Param("userId") Long userId);
+
+    @Query(value = "SELECT id FROM users WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findUserIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+}
@@ -3,7 +3,28 @@ package io.ngrabner.task_tracker_api.repository;
 import java.util.Optional;
 import io.ngrabner.task_tracker_api.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByGoogleSub(String googleSub);
+
+    // Login upsert in one round trip: inserts new users, updates only when email or name changed
+    // (no dead tuple, no WAL otherwise) and returns the id either way. Empty only if another login
+    // created the user after this statement's snapshot was taken; findByGoogleSub then sees it.
+    @Transactional
+    @NativeQuery("""
+        WITH upserted AS (
+          INSERT INTO users (google_sub, email, name) VALUES (:googleSub, :email, :name)
+          ON CONFLICT (google_sub) DO UPDATE SET email = EXCLUDED.email, name = EXCLUDED.name
+          WHERE users.email IS DISTINCT FROM EXCLUDED.email OR users.name IS DISTINCT FROM EXCLUDED.name
+          RETURNING id
+        )
+        SELECT id FROM upserted
+        UNION ALL
+        SELECT id FROM users WHERE google_sub = :googleSub AND NOT EXISTS (SELECT 1 FROM upserted)
+        """)
+    Optional<Long> upsertFromLogin(@Param("googleSub") String googleSub, @Param("email") String email,
+            @Param("name") String name);
 }
@@ -0,0 +1,148 @@
+package io.ngrabner.task_tracker_api.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that follows measured latency, after TCP Vegas: the lowest latency seen
+ * is taken as the no-queue latency, and limit * (1 - noQueue / latency) estimates how many
+ * requests are waiting (for a pool connection, a lock, the database). The limit grows while
+ * that queue is short and shrinks when it is long or when requests fail, so excess load is
+ * turned away instead of waiting in line and slowing down everyone admitted.
+ *
+ * Requests differ in cost (a cached page against a full-text search), so single samples are
+ * not compared: latency is a short moving average, and the no-queue latency the lowest value
+ * of a long one. A cheap request then moves the baseline as much as its share of the traffic,
+ * instead of setting it alone and making every database query look queued.
+ *
+ * Writes may use the whole limit; reads only readShare of it, so reads are shed first.
+ * The no-queue latency is re-measured every so often, so a lasting change in database speed
+ * becomes the new baseline instead of holding the limit at its minimum.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double readShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Updated under the lock; read without it on the acquire path
+    private volatile int limit;
+    // Not synchronized: on JDK 21 a virtual thread blocked on a contended monitor pins its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private double estimatedLimit;
+    private double noQueueNanos;
+    private long samplesUntilProbe;
+    // Exponential moving averages; until they have seen enough samples, plain averages
+    private double recentNanos;
+    private double longTermNanos;
+    private long samples;
+
+    // About 10 and 100 samples
+    private static final double RECENT_WEIGHT = 0.1;
+    private static final double LONG_TERM_WEIGHT = 0.01;
+    // Samples before the long-term average is steady enough to serve as a baseline
+    private static final int WARM_UP = 20;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double readShare) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("need 1 <= minLimit <= maxLimit");
+        }
+        if (readShare <= 0 || readShare > 1) {
+            throw new IllegalArgumentException("readShare must be in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.readShare = readShare;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.samplesUntilProbe = nextProbe(estimatedLimit);
+    }
+
+    // Every successful tryAcquire must be followed by exactly one of onSuccess, onDropped, onIgnore
+    public boolean tryAcquire(boolean write) {
+        int cap = write ? limit : Math.max(1, (int) (limit * readShare));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= cap) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long latencyNanos) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            samples++;
+            double latency = Math.max(1, latencyNanos);
+            recentNanos += Math.max(RECENT_WEIGHT, 1.0 / samples) * (latency - recentNanos);
+            longTermNanos += Math.max(LONG_TERM_WEIGHT, 1.0 / samples) * (latency - longTermNanos);
+            if (samples < WARM_UP) {
+                return;
+            }
+            if (--samplesUntilProbe <= 0) {
+                samplesUntilProbe = nextProbe(estimatedLimit);
+                noQueueNanos = 0;
+            }
+            if (noQueueNanos == 0 || longTermNanos < noQueueNanos) {
+                noQueueNanos = longTermNanos;
+                return;
+            }
+            // Not enough load to tell whether a higher limit would queue
+            if (inFlightAtEnd * 2 < estimatedLimit) {
+                return;
+            }
+
+            double log = Math.max(1, Math.log10(estimatedLimit));
+            double queue = Math.ceil(estimatedLimit * (1 - noQueueNanos / recentNanos));
+            if (queue <= log) {
+                setLimit(estimatedLimit + 6 * log);
+            } else if (queue < 3 * log) {
+                setLimit(estimatedLimit + log);
+            } else if (queue > 6 * log) {
+                setLimit(estimatedLimit - log);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Timed out or failed: back off
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        lock.lock();
+        try {
+            setLimit(estimatedLimit - Math.max(1, Math.log10(estimatedLimit)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Finished without saying anything about load (rejected early, or handed off to async)
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void setLimit(double value) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, value));
+        limit = (int) estimatedLimit;
+    }
+
+    // Jittered so instances started together do not all probe at once
+    private static long nextProbe(double limit) {
+        return (long) (30 * limit * (1 + ThreadLocalRandom.current().nextDouble()));
+    }
+}
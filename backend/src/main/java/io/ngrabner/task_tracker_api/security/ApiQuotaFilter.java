@@ -0,0 +1,77 @@
+package io.ngrabner.task_tracker_api.security;
+
+import io.ngrabner.task_tracker_api.auth.CurrentUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-user limits on /api/tasks: a request-rate quota and a cap on requests in flight, so one
+ * client cannot take the whole connection pool. Runs after JwtCookieAuthFilter; anonymous
+ * requests pass through and are rejected by authorization.
+ */
+public class ApiQuotaFilter extends OncePerRequestFilter {
+
+    private final RateLimiter limiter;
+    private final UserBulkhead bulkhead;
+    private final QuotaRejections rejections;
+
+    public ApiQuotaFilter(RateLimiter limiter, UserBulkhead bulkhead, QuotaRejections rejections) {
+        this.limiter = limiter;
+        this.bulkhead = bulkhead;
+        this.rejections = rejections;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !(uri.equals("/api/tasks") || uri.startsWith("/api/tasks/"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof CurrentUser user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Long userId = user.userId();
+
+        long waitNanos = limiter.tryAcquire(String.valueOf(userId));
+        if (waitNanos > 0) {
+            rejections.record(userId, QuotaRejections.Reason.RATE);
+            reject(response, RateLimiter.toRetryAfterSeconds(waitNanos), "Request quota exceeded. Try again shortly.");
+            return;
+        }
+
+        if (!bulkhead.tryEnter(userId)) {
+            rejections.record(userId, QuotaRejections.Reason.CONCURRENCY);
+            // Requests in flight finish in well under a second
+            reject(response, 1, "Too many concurrent requests. Try again shortly.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit(userId);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"RATE_LIMITED\",\"message\":\"" + message + "\"}");
+    }
+}
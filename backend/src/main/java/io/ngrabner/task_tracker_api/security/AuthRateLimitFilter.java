@@ -10,9 +10,9 @@ import java.io.IOException;
 
 public class AuthRateLimitFilter extends OncePerRequestFilter {
 
-    private final FixedWindowRateLimiter limiter;
+    private final RateLimiter limiter;
 
-    public AuthRateLimitFilter(FixedWindowRateLimiter limiter) {
+    public AuthRateLimitFilter(RateLimiter limiter) {
         this.limiter = limiter;
     }
 
@@ -31,8 +31,10 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
 
         String key = clientIp(request);
 
-        if (!limiter.allow(key)) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
             response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(RateLimiter.toRetryAfterSeconds(waitNanos)));
             response.setContentType("application/json");
             response.getWriter()
                     .write("{\"error\":\"RATE_LIMITED\",\"message\":\"Too many login attempts. Try again shortly.\"}");
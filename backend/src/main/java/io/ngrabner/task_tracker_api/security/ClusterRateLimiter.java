@@ -0,0 +1,98 @@
+package io.ngrabner.task_tracker_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.ngrabner.task_tracker_api.repository.RateLimitBucketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The same token bucket as TokenBucketRateLimiter, but shared by every instance through
+ * rate_limit_buckets, so N instances together still admit maxRequests per window.
+ *
+ * Each instance claims permits in blocks of up to localBatch and spends them locally, and
+ * remembers a denial until the bucket has a permit again, so most requests (and every request
+ * of a blocked client) are answered without a database round trip. Permits are claimed before
+ * they are spent, so the combined limit holds; a block that goes unspent only makes the limit
+ * stricter. Unspent permits are dropped after one emission interval so they cannot be saved up.
+ */
+public class ClusterRateLimiter implements RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRateLimiter.class);
+
+    private static final class Local {
+        final ReentrantLock lock = new ReentrantLock();
+        int permits;
+        long permitsExpireAt;
+        long deniedUntil;
+    }
+
+    private final String namespace;
+    private final RateLimitBucketRepository repository;
+    private final int maxRequests;
+    private final int localBatch;
+    private final long windowMicros;
+    private final long intervalMicros;
+    private final long intervalNanos;
+    private final Cache<String, Local> locals;
+
+    public ClusterRateLimiter(String namespace, RateLimitBucketRepository repository, Duration window,
+            int maxRequests, int localBatch, long maxKeys) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests must be at least 1");
+        }
+        this.namespace = namespace;
+        this.repository = repository;
+        this.maxRequests = maxRequests;
+        this.localBatch = Math.max(1, Math.min(localBatch, maxRequests));
+        this.windowMicros = TimeUnit.NANOSECONDS.toMicros(window.toNanos());
+        this.intervalMicros = Math.max(1, windowMicros / maxRequests);
+        this.intervalNanos = TimeUnit.MICROSECONDS.toNanos(intervalMicros);
+        this.locals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        Local local = locals.get(key, k -> new Local());
+        // Per key and per instance, so concurrent requests for one key share a single claim.
+        // A lock rather than synchronized: it is held across a JDBC call.
+        local.lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (local.deniedUntil - now > 0) {
+                return local.deniedUntil - now;
+            }
+            if (local.permits > 0 && local.permitsExpireAt - now > 0) {
+                local.permits--;
+                return 0;
+            }
+
+            RateLimitBucketRepository.Claim claim;
+            try {
+                claim = repository.claim(namespace + ":" + key, localBatch, maxRequests, intervalMicros, windowMicros);
+            } catch (RuntimeException e) {
+                // Fail open: an unreachable database must not lock everyone out
+                log.warn("Rate limit claim for {} failed, allowing the request: {}", namespace, e.toString());
+                return 0;
+            }
+
+            if (claim.getGranted() == 0) {
+                long waitMicros = Math.max(1, claim.getAheadMicros() + intervalMicros - windowMicros);
+                local.deniedUntil = now + TimeUnit.MICROSECONDS.toNanos(waitMicros);
+                return local.deniedUntil - now;
+            }
+            local.permits = claim.getGranted() - 1;
+            local.permitsExpireAt = now + intervalNanos;
+            return 0;
+        } finally {
+            local.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.ngrabner.task_tracker_api.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admits /api/tasks requests while fewer than the adaptive limit are in flight and answers the
+ * rest with 503 right away, before authentication or any database work. Runs ahead of the
+ * security filter chain.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final Counter shedReads;
+    private final Counter shedWrites;
+
+    public LoadSheddingFilter(AdaptiveConcurrencyLimit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        Gauge.builder("api.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit for /api/tasks").register(meterRegistry);
+        Gauge.builder("api.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .description("/api/tasks requests in flight").register(meterRegistry);
+        this.shedReads = Counter.builder("api.concurrency.shed").tag("type", "read")
+                .description("Requests rejected with 503 by the adaptive concurrency limit").register(meterRegistry);
+        this.shedWrites = Counter.builder("api.concurrency.shed").tag("type", "write")
+                .description("Requests rejected with 503 by the adaptive concurrency limit").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        boolean write = isWrite(request.getMethod());
+        if (!limit.tryAcquire(write)) {
+            (write ? shedWrites : shedReads).increment();
+            response.setStatus(503);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter()
+                    .write("{\"error\":\"OVERLOADED\",\"message\":\"Server is busy. Try again shortly.\"}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            int status = response.getStatus();
+            if (failed || status >= 500) {
+                limit.onDropped();
+            } else if (status == 429 || status == 304 || request.isAsyncStarted() || isBulkTransfer(request)) {
+                // Turned away by the quota, answered before any query, still running, or as long
+                // as the data it moved: the elapsed time says nothing about load
+                limit.onIgnore();
+            } else {
+                limit.onSuccess(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static boolean isBulkTransfer(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals("/api/tasks/export") || path.equals("/api/tasks/import");
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+}
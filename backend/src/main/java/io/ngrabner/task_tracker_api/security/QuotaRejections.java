@@ -0,0 +1,77 @@
+package io.ngrabner.task_tracker_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts requests turned away by ApiQuotaFilter. Totals per reason go to Micrometer
+ * ({@code api.quota.rejections}); per-user counts are kept here and served by
+ * {@code /actuator/quotas} instead of as meter tags, so user ids do not multiply time series.
+ * The endpoint lists other users' ids, so like every actuator endpoint but health it is admin-only
+ * (SecurityConfig, app.security.admin-emails).
+ */
+@Component
+@Endpoint(id = "quotas")
+public class QuotaRejections {
+
+    public enum Reason { RATE, CONCURRENCY }
+
+    public record UserRejections(Long userId, long rate, long concurrency) {}
+
+    private static final class Tally {
+        final AtomicLong rate = new AtomicLong();
+        final AtomicLong concurrency = new AtomicLong();
+    }
+
+    private static final int TOP = 20;
+
+    private final Counter rateRejections;
+    private final Counter concurrencyRejections;
+    private final Cache<Long, Tally> byUser;
+
+    public QuotaRejections(MeterRegistry meterRegistry,
+            @Value("${app.security.api-quota.max-keys:100000}") long maxKeys,
+            @Value("${app.security.api-quota.rejections-retention:PT1H}") Duration retention) {
+        this.rateRejections = Counter.builder("api.quota.rejections").tag("reason", "rate")
+                .description("Requests rejected by the per-user rate quota").register(meterRegistry);
+        this.concurrencyRejections = Counter.builder("api.quota.rejections").tag("reason", "concurrency")
+                .description("Requests rejected by the per-user concurrency cap").register(meterRegistry);
+        // Users who stop getting rejected drop out after the retention period
+        this.byUser = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(retention)
+                .build();
+    }
+
+    public void record(Long userId, Reason reason) {
+        Tally tally = byUser.get(userId, id -> new Tally());
+        if (reason == Reason.RATE) {
+            rateRejections.increment();
+            tally.rate.incrementAndGet();
+        } else {
+            concurrencyRejections.increment();
+            tally.concurrency.incrementAndGet();
+        }
+    }
+
+    // Most rejected users first
+    @ReadOperation
+    public List<UserRejections> topUsers() {
+        return byUser.asMap().entrySet().stream()
+                .map(e -> new UserRejections(e.getKey(), e.getValue().rate.get(), e.getValue().concurrency.get()))
+                .sorted(Comparator.comparingLong((UserRejections r) -> r.rate() + r.concurrency()).reversed())
+                .limit(TOP)
+                .toList();
+    }
+}
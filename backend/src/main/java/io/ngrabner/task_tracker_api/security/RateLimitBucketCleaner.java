@@ -0,0 +1,21 @@
+package io.ngrabner.task_tracker_api.security;
+
+import io.ngrabner.task_tracker_api.repository.RateLimitBucketRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Keeps rate_limit_buckets down to the keys that are currently limited (ClusterRateLimiter)
+@Component
+public class RateLimitBucketCleaner {
+
+    private final RateLimitBucketRepository repository;
+
+    public RateLimitBucketCleaner(RateLimitBucketRepository repository) {
+        this.repository = repository;
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.rate-limit-cleanup-interval:PT10M}")
+    public int deleteFullBuckets() {
+        return repository.deleteFull();
+    }
+}
@@ -0,0 +1,18 @@
+package io.ngrabner.task_tracker_api.security;
+
+import java.util.concurrent.TimeUnit;
+
+public interface RateLimiter {
+
+    // 0 when the request is allowed, otherwise the nanoseconds until one would be
+    long tryAcquire(String key);
+
+    default boolean allow(String key) {
+        return tryAcquire(key) == 0;
+    }
+
+    // For a Retry-After header: whole seconds, rounded up
+    static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,60 @@
+package io.ngrabner.task_tracker_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * maxRequests per window per key, refilled continuously: a burst of maxRequests, then one
+ * request every window/maxRequests. Unlike a fixed window there is no reset to race on and no
+ * double burst at window edges.
+ *
+ * Implemented as GCRA: each key holds one long, the time its bucket will be full again, moved
+ * forward with compare-and-set. Keys are kept in a Caffeine cache capped at maxKeys and dropped
+ * after a window without requests, by which time their bucket is full anyway. Frequency-based
+ * admission keeps busy keys around when a scan floods it with one-off keys.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final long windowNanos;
+    private final long intervalNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(Duration window, int maxRequests, long maxKeys) {
+        if (maxRequests < 1) {
+            throw new IllegalArgumentException("maxRequests must be at least 1");
+        }
+        this.windowNanos = window.toNanos();
+        this.intervalNanos = windowNanos / maxRequests;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            // nanoTime values are only comparable by their difference
+            long start = current - now < 0 ? now : current;
+            long next = start + intervalNanos;
+            long wait = next - now - windowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
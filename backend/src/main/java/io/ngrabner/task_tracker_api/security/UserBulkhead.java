@@ -0,0 +1,42 @@
+package io.ngrabner.task_tracker_api.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps how many requests one user can have in flight at once. Only users with requests in
+ * flight have an entry, so the map is bounded by the number of request threads.
+ */
+public class UserBulkhead {
+
+    private final int maxConcurrent;
+    private final ConcurrentHashMap<Long, Integer> inFlight = new ConcurrentHashMap<>();
+
+    public UserBulkhead(int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    // Every successful tryEnter must be paired with exactly one exit
+    public boolean tryEnter(Long userId) {
+        boolean[] entered = { false };
+        inFlight.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxConcurrent) {
+                return count;
+            }
+            entered[0] = true;
+            return current + 1;
+        });
+        return entered[0];
+    }
+
+    public void exit(Long userId) {
+        inFlight.computeIfPresent(userId, (id, count) -> count <= 1 ? null : count - 1);
+    }
+
+    public int inFlight(Long userId) {
+        return inFlight.getOrDefault(userId, 0);
+    }
+}
@@ -0,0 +1,8 @@
+package io.ngrabner.task_tracker_api.service;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+}
@@ -1,5 +1,6 @@
 package io.ngrabner.task_tracker_api.service;
 
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,6 +15,8 @@ import java.util.Date;
 public class JwtService {
     private final SecretKey key;
     private final long minutes;
+    // Immutable and thread-safe: built once instead of per request
+    private final JwtParser parser;
 
     public JwtService(@Value("${app.jwt.secret}") String secret,
             @Value("${app.jwt.minutes:15}") long minutes) {
@@ -22,6 +25,9 @@ public class JwtService {
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.minutes = minutes;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
     }
 
     public String createToken(Long userId, String email) {
@@ -38,9 +44,7 @@ public class JwtService {
     }
 
     public io.jsonwebtoken.Claims parseClaims(String jwt) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
+        return parser
                 .parseSignedClaims(jwt)
                 .getPayload();
     }
@@ -0,0 +1,8 @@
+package io.ngrabner.task_tracker_api.service;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,236 @@
+package io.ngrabner.task_tracker_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskChangeEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open GET /api/tasks/stream connections by user, and the fan-out of task changes to them.
+ *
+ * Every subscriber has a bounded queue, drained by a small shared pool of writer threads, so
+ * neither the listener thread nor other subscribers ever wait on a slow client. A subscriber
+ * whose queue fills up (its client stopped reading) is disconnected rather than buffered for:
+ * EventSource reconnects, and the new stream starts with a ready event that tells the client to
+ * refetch. Idle streams get a heartbeat comment, which also finds connections that went away.
+ */
+@Component
+public class TaskChangeFeed implements SmartLifecycle {
+
+    public static final String READY = "ready";
+    // Sent when changes may have been missed (the listener reconnected): refetch everything
+    public static final String RESYNC = "resync";
+
+    private final Map<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final ExecutorService writers;
+    private final JsonMapper jsonMapper;
+    private final Counter dropped;
+    private final int queueCapacity;
+    private final int maxPerUser;
+    private final Duration timeout;
+    private volatile boolean running;
+
+    public TaskChangeFeed(JsonMapper jsonMapper, MeterRegistry meterRegistry,
+            @Value("${app.tasks.stream.queue-capacity:64}") int queueCapacity,
+            @Value("${app.tasks.stream.max-per-user:10}") int maxPerUser,
+            @Value("${app.tasks.stream.timeout:PT30M}") Duration timeout,
+            @Value("${app.tasks.stream.writer-threads:4}") int writerThreads) {
+        this.jsonMapper = jsonMapper;
+        this.queueCapacity = queueCapacity;
+        this.maxPerUser = maxPerUser;
+        this.timeout = timeout;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-stream-");
+        threadFactory.setDaemon(true);
+        this.writers = Executors.newFixedThreadPool(writerThreads, threadFactory);
+        Gauge.builder("tasks.stream.subscribers", open, AtomicInteger::get)
+                .description("Open task change streams").register(meterRegistry);
+        this.dropped = Counter.builder("tasks.stream.dropped")
+                .description("Task change streams closed because the client fell behind").register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeout.toMillis()));
+    }
+
+    public SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        byUser.compute(userId, (id, subscribers) -> {
+            if (subscribers == null) {
+                subscribers = ConcurrentHashMap.newKeySet();
+            } else if (subscribers.size() >= maxPerUser) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "At most " + maxPerUser + " task streams can be open per user");
+            }
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+        open.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscriber.offer(SseEmitter.event().name(READY).reconnectTime(1000).data("{}").build());
+        return emitter;
+    }
+
+    public void publish(TaskChangeNotifier.Change change) {
+        Set<Subscriber> subscribers = byUser.get(change.userId());
+        if (subscribers == null) {
+            return;
+        }
+        // Serialized once, whatever the number of subscribers
+        String data = jsonMapper.writeValueAsString(new TaskChangeEvent(change.type(), change.ids()));
+        Set<DataWithMediaType> frame = SseEmitter.event().name(change.type()).data(data).build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    public void resyncAll() {
+        Set<DataWithMediaType> frame = SseEmitter.event().name(RESYNC).data("{}").build();
+        byUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(frame)));
+    }
+
+    // Only streams with nothing queued need one; a queued event is as good
+    @Scheduled(fixedDelayString = "${app.tasks.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        byUser.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.offer(frame);
+            }
+        }));
+    }
+
+    public int subscribers() {
+        return open.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Ends every stream ahead of the web server's graceful shutdown, which would otherwise wait for them
+    @Override
+    public void stop() {
+        running = false;
+        byUser.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writers.shutdown();
+        writers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void remove(Subscriber subscriber) {
+        byUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                open.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscriber implements Runnable {
+
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        // Complete the stream once the write in progress (if any) is done
+        volatile boolean closing;
+        // The stream is finished: nothing more is written
+        volatile boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (closing || closed) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                dropped.increment();
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void close() {
+            closing = true;
+            queue.clear();
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this);
+                } catch (RejectedExecutionException e) {
+                    closed = true;
+                    remove(this);
+                }
+            }
+        }
+
+        // One writer at a time per subscriber, so frames go out in order
+        @Override
+        public void run() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closing && (frame = queue.poll()) != null) {
+                    emitter.send(frame);
+                }
+                if (closing && !closed) {
+                    closed = true;
+                    remove(this);
+                    emitter.complete();
+                }
+            } catch (Exception e) {
+                // The client went away (IOException) or the emitter already completed
+                closed = true;
+                remove(this);
+            } finally {
+                scheduled.set(false);
+                if (!closed && (closing || !queue.isEmpty())) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
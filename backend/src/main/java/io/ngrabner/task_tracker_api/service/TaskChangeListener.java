@@ -0,0 +1,124 @@
+package io.ngrabner.task_tracker_api.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.autoconfigure.JdbcConnectionDetails;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens on the task_changes channel and hands every notification to this node's
+ * TaskChangeFeed, so writes on any node reach streams open on all of them, and drops the user's
+ * entries from this node's TaskReadCache, so it stops serving reads from before them. Uses its own
+ * connection outside the pool: LISTEN needs one that stays with this thread. Reconnects with
+ * backoff, after which open streams are told to resync and the whole read cache is dropped, since
+ * notifications sent while the connection was down are lost.
+ */
+@Component
+public class TaskChangeListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeListener.class);
+
+    // How long one wait for notifications blocks; also how quickly stop() is noticed
+    private static final int POLL_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final TaskChangeFeed feed;
+    private final TaskReadCache readCache;
+    private final JsonMapper jsonMapper;
+    private volatile boolean running;
+    private Thread thread;
+
+    public TaskChangeListener(JdbcConnectionDetails connectionDetails, TaskChangeFeed feed, TaskReadCache readCache,
+            JsonMapper jsonMapper) {
+        this.connectionDetails = connectionDetails;
+        this.feed = feed;
+        this.readCache = readCache;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "task-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            thread.join(2 * POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        long backoffMillis = 0;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    connectionDetails.getJdbcUrl(), connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TaskChangeNotifier.CHANNEL);
+                }
+                if (reconnecting) {
+                    log.info("Task change listener reconnected");
+                    readCache.invalidateAll();
+                    feed.resyncAll();
+                }
+                reconnecting = true;
+                backoffMillis = 0;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                backoffMillis = Math.min(MAX_BACKOFF_MILLIS, Math.max(500, backoffMillis * 2));
+                log.warn("Task change listener disconnected, retrying in {} ms: {}", backoffMillis, e.toString());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            TaskChangeNotifier.Change change = jsonMapper.readValue(payload, TaskChangeNotifier.Change.class);
+            // Also arrives on the node that wrote, which invalidated on commit already; that only costs misses
+            readCache.invalidate(change.userId());
+            feed.publish(change);
+        } catch (JacksonException e) {
+            log.warn("Ignoring malformed task change notification: {}", payload);
+        }
+    }
+}
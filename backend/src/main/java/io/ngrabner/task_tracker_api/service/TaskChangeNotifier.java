@@ -0,0 +1,42 @@
+package io.ngrabner.task_tracker_api.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * Announces task writes on the task_changes channel with pg_notify, in the writer's transaction:
+ * PostgreSQL delivers the notification at commit (never for a rollback) to every node listening,
+ * see TaskChangeListener.
+ */
+@Component
+public class TaskChangeNotifier {
+
+    public static final String CHANNEL = "task_changes";
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    // NOTIFY payloads are limited to 8000 bytes; above this, ids are left out and clients refetch everything
+    static final int MAX_IDS = 100;
+
+    // ids is null when the change is too large (or set-based) to list
+    public record Change(Long userId, String type, List<Long> ids) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    public TaskChangeNotifier(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public void publish(Long userId, String type, List<Long> ids) {
+        List<Long> listed = ids != null && ids.size() <= MAX_IDS ? ids : null;
+        String payload = jsonMapper.writeValueAsString(new Change(userId, type, listed));
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, CHANNEL, payload);
+    }
+}
@@ -0,0 +1,42 @@
+package io.ngrabner.task_tracker_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Position after the last row of a keyset page: the sort key and direction it was
+ * read with, plus the (sort value, id) pair of that row. Serialized as an opaque
+ * base64url token so clients don't depend on its layout.
+ */
+record TaskCursor(String sortBy, boolean ascending, Instant value, Long id) {
+
+    static final Set<String> SORT_FIELDS = Set.of("createdAt", "updatedAt");
+
+    String encode() {
+        String raw = String.join("|",
+                sortBy,
+                ascending ? "asc" : "desc",
+                String.valueOf(value.getEpochSecond()),
+                String.valueOf(value.getNano()),
+                String.valueOf(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 5 || !SORT_FIELDS.contains(parts[0])
+                    || !("asc".equals(parts[1]) || "desc".equals(parts[1]))) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            Instant value = Instant.ofEpochSecond(Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+            return new TaskCursor(parts[0], "asc".equals(parts[1]), value, Long.valueOf(parts[4]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
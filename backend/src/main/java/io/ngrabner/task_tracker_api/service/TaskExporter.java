@@ -0,0 +1,159 @@
+package io.ngrabner.task_tracker_api.service;
+
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes all of a user's tasks as NDJSON or CSV, one row at a time from a database cursor to the
+ * output stream, so memory use does not depend on how many tasks there are. Output is flushed
+ * every FLUSH_ROWS rows, so the client receives it in chunks while the export runs.
+ */
+@Service
+public class TaskExporter {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid format: " + value + " (allowed: ndjson, csv)");
+            }
+        }
+    }
+
+    private static final int FLUSH_ROWS = 1000;
+    private static final String CSV_HEADER = "id,title,description,status,priority,dueAt,createdAt,updatedAt,version";
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    // Same mapper as the JSON API, so a task looks the same in both
+    private final ObjectWriter rowWriter;
+
+    public TaskExporter(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+            JsonMapper jsonMapper) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Rows are separated by newlines, and flushed in chunks rather than after every row
+        this.rowWriter = jsonMapper.writerFor(TaskResponse.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Once rows are written the response is committed: a failure after that can only cut the output short
+    public void export(Long userId, Format format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            try (Stream<TaskResponse> rows = taskRepository.streamResponsesByUserId(userId)) {
+                if (format == Format.NDJSON) {
+                    writeNdjson(rows, out);
+                } else {
+                    writeCsv(rows, out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Stream<TaskResponse> rows, OutputStream out) {
+        try (JsonGenerator generator = rowWriter.createGenerator(out)) {
+            long[] written = { 0 };
+            rows.forEach(task -> {
+                rowWriter.writeValue(generator, task);
+                generator.writeRaw('\n');
+                if (++written[0] % FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            });
+        }
+    }
+
+    private static void writeCsv(Stream<TaskResponse> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long[] written = { 0 };
+        rows.forEach(task -> {
+            try {
+                writer.write(csvRow(task));
+                if (++written[0] % FLUSH_ROWS == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    // RFC 4180: CRLF line ends; fields with commas, quotes or line breaks are quoted, quotes doubled
+    static String csvRow(TaskResponse task) {
+        StringBuilder row = new StringBuilder(128);
+        row.append(task.getId()).append(',');
+        appendField(row, task.getTitle()).append(',');
+        appendField(row, task.getDescription()).append(',');
+        row.append(task.getStatus()).append(',');
+        appendField(row, task.getPriority()).append(',');
+        appendInstant(row, task.getDueAt()).append(',');
+        appendInstant(row, task.getCreatedAt()).append(',');
+        appendInstant(row, task.getUpdatedAt()).append(',');
+        row.append(task.getVersion()).append("\r\n");
+        return row.toString();
+    }
+
+    private static StringBuilder appendField(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static StringBuilder appendInstant(StringBuilder row, Instant value) {
+        return value == null ? row : row.append(value);
+    }
+}
@@ -0,0 +1,431 @@
+package io.ngrabner.task_tracker_api.service;
+
+import io.ngrabner.task_tracker_api.web.dto.task.CreateTaskRequest;
+import io.ngrabner.task_tracker_api.web.dto.task.ImportTasksResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskStatus;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Loads NDJSON or CSV rows (same fields as CreateTaskRequest) into a user's tasks. Rows are
+ * parsed and validated as they arrive and sent on through COPY into a temporary staging table,
+ * then moved into tasks with a single INSERT ... SELECT, so the statement-level triggers and the
+ * indexes see one statement instead of one per row. Invalid rows are skipped and reported; the
+ * valid ones are imported together in one transaction. Memory use is bounded by one row and one
+ * COPY chunk, whatever the size of the input.
+ */
+@Service
+public class TaskImporter {
+
+    // Error details kept for the response; the count covers all of them
+    private static final int MAX_REPORTED_ERRORS = 100;
+    // Longest accepted row, far above what the field limits allow even with JSON escapes
+    private static final int MAX_ROW_CHARS = 64 * 1024;
+    private static final int COPY_CHUNK_CHARS = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final TaskReadCache readCache;
+    private final TaskChangeNotifier changeNotifier;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+    private final long maxRows;
+
+    public TaskImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            TaskReadCache readCache, TaskChangeNotifier changeNotifier, Validator validator, JsonMapper jsonMapper,
+            @Value("${app.tasks.import-max-rows:1000000}") long maxRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readCache = readCache;
+        this.changeNotifier = changeNotifier;
+        this.validator = validator;
+        // Same mapper as the JSON API, so exported NDJSON (with id, version, ...) imports as is
+        this.rowReader = jsonMapper.readerFor(CreateTaskRequest.class);
+        this.maxRows = maxRows;
+    }
+
+    // The transaction stays open while the body is read, so a slow upload holds a connection for as long
+    public ImportTasksResponse importTasks(Long userId, TaskExporter.Format format, InputStream in) {
+        return transaction.execute(tx -> {
+            readCache.invalidate(userId);
+            return jdbcTemplate.execute((ConnectionCallback<ImportTasksResponse>) connection -> {
+                try {
+                    return load(connection, userId, format, in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        });
+    }
+
+    private ImportTasksResponse load(Connection connection, Long userId, TaskExporter.Format format, InputStream in)
+            throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            // Temporary: not WAL-logged, no indexes, gone at commit
+            statement.execute("""
+                    CREATE TEMP TABLE task_import (
+                      line BIGINT NOT NULL,
+                      title TEXT NOT NULL,
+                      description TEXT,
+                      status TEXT NOT NULL
+                    ) ON COMMIT DROP
+                    """);
+        }
+
+        Rejections rejections = new Rejections();
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY task_import (line, title, description, status) FROM STDIN");
+        try {
+            CopyRows rows = new CopyRows(copy);
+            RowSource source = new RowSource(new InputStreamReader(in, StandardCharsets.UTF_8));
+            if (format == TaskExporter.Format.NDJSON) {
+                stageNdjson(source, rows, rejections);
+            } else {
+                stageCsv(source, rows, rejections);
+            }
+            rows.flush();
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+
+        // Ids from the column default, in input order
+        int imported;
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO tasks (user_id, title, description, status)
+                SELECT ?, title, description, status FROM task_import ORDER BY line
+                """)) {
+            insert.setLong(1, userId);
+            imported = insert.executeUpdate();
+        }
+        if (imported > 0) {
+            changeNotifier.publish(userId, TaskChangeNotifier.CREATED, null);
+        }
+        return new ImportTasksResponse(imported, rejections.count, rejections.reported);
+    }
+
+    private void stageNdjson(RowSource source, CopyRows rows, Rejections rejections)
+            throws IOException, SQLException {
+        String line;
+        while ((line = source.nextLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            countRow(rows, rejections);
+            if (source.tooLong) {
+                rejections.add(source.line, "Row is longer than " + MAX_ROW_CHARS + " characters");
+                continue;
+            }
+            CreateTaskRequest task;
+            try {
+                task = rowReader.readValue(line);
+            } catch (JacksonException e) {
+                rejections.add(source.line, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (task == null) {
+                rejections.add(source.line, "Expected a JSON object");
+                continue;
+            }
+            stage(source.line, task, rows, rejections);
+        }
+    }
+
+    // RFC 4180 with a header row; columns are matched by name and unknown ones ignored, so an export
+    // imports as is. Only title is required.
+    private void stageCsv(RowSource source, CopyRows rows, Rejections rejections) throws IOException, SQLException {
+        List<String> header = source.nextRecord();
+        if (header == null) {
+            return;
+        }
+        if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        int title = column(header, "title");
+        int description = column(header, "description");
+        int status = column(header, "status");
+        if (title < 0) {
+            throw new BadRequestException("CSV header must include a title column");
+        }
+
+        List<String> record;
+        while ((record = source.nextRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            countRow(rows, rejections);
+            if (source.tooLong) {
+                rejections.add(source.line, "Row is longer than " + MAX_ROW_CHARS + " characters");
+                continue;
+            }
+            CreateTaskRequest task = new CreateTaskRequest();
+            task.setTitle(field(record, title));
+            String descriptionValue = field(record, description);
+            task.setDescription(descriptionValue == null || descriptionValue.isEmpty() ? null : descriptionValue);
+            String statusValue = field(record, status);
+            if (statusValue != null && !statusValue.isBlank()) {
+                try {
+                    task.setStatus(TaskStatus.valueOf(statusValue.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    rejections.add(source.line, "status: must be one of TODO, IN_PROGRESS, DONE");
+                    continue;
+                }
+            }
+            stage(source.line, task, rows, rejections);
+        }
+    }
+
+    private void countRow(CopyRows rows, Rejections rejections) {
+        if (rows.count + rejections.count >= maxRows) {
+            throw new BadRequestException("At most " + maxRows + " rows can be imported per request");
+        }
+    }
+
+    private void stage(long line, CreateTaskRequest task, CopyRows rows, Rejections rejections) throws SQLException {
+        String error = validate(task);
+        if (error != null) {
+            rejections.add(line, error);
+        } else {
+            rows.add(line, task);
+        }
+    }
+
+    // Same constraints as POST /api/tasks; PostgreSQL text cannot hold NUL, which would fail the whole COPY
+    private String validate(CreateTaskRequest task) {
+        var violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (task.getTitle().indexOf('\0') >= 0
+                || (task.getDescription() != null && task.getDescription().indexOf('\0') >= 0)) {
+            return "Text must not contain NUL characters";
+        }
+        return null;
+    }
+
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> record, int index) {
+        return index >= 0 && index < record.size() ? record.get(index) : null;
+    }
+
+    private static final class Rejections {
+        long count;
+        final List<ImportTasksResponse.RowError> reported = new ArrayList<>();
+
+        void add(long line, String message) {
+            count++;
+            if (reported.size() < MAX_REPORTED_ERRORS) {
+                reported.add(new ImportTasksResponse.RowError(line, message));
+            }
+        }
+    }
+
+    // Valid rows in COPY text format, sent to the server in chunks
+    private static final class CopyRows {
+        final CopyIn copy;
+        final StringBuilder chunk = new StringBuilder(COPY_CHUNK_CHARS + MAX_ROW_CHARS);
+        long count;
+
+        CopyRows(CopyIn copy) {
+            this.copy = copy;
+        }
+
+        void add(long line, CreateTaskRequest task) throws SQLException {
+            TaskStatus status = task.getStatus() != null ? task.getStatus() : TaskStatus.TODO;
+            chunk.append(line).append('\t');
+            appendText(task.getTitle()).append('\t');
+            appendText(task.getDescription()).append('\t');
+            chunk.append(status.name()).append('\n');
+            count++;
+            if (chunk.length() >= COPY_CHUNK_CHARS) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            chunk.setLength(0);
+        }
+
+        // Text format: \N is NULL; backslash, tab and line breaks are escaped
+        private StringBuilder appendText(String value) {
+            if (value == null) {
+                return chunk.append("\\N");
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\\' -> chunk.append("\\\\");
+                    case '\t' -> chunk.append("\\t");
+                    case '\n' -> chunk.append("\\n");
+                    case '\r' -> chunk.append("\\r");
+                    default -> chunk.append(c);
+                }
+            }
+            return chunk;
+        }
+    }
+
+    // Reads NDJSON lines or CSV records one at a time, tracking the line each one starts on.
+    // A row over MAX_ROW_CHARS is read to its end but not kept, and flagged as tooLong.
+    private static final class RowSource {
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder text = new StringBuilder();
+        private int position;
+        private int limit;
+        private int rowChars;
+        private long nextLine = 1;
+        long line;
+        boolean tooLong;
+
+        RowSource(Reader reader) {
+            this.reader = reader;
+        }
+
+        // The next line without its line break, or null at the end of the input
+        String nextLine() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            startRow();
+            while (c >= 0 && c != '\n') {
+                append((char) c);
+                c = read();
+            }
+            nextLine++;
+            if (!text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+                text.setLength(text.length() - 1);
+            }
+            return text.toString();
+        }
+
+        // The next record's fields, or null at the end of the input. Quoted fields may hold
+        // commas, doubled quotes and line breaks.
+        List<String> nextRecord() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            startRow();
+            List<String> fields = new ArrayList<>();
+            boolean quoted = false;
+            while (true) {
+                if (c < 0) {
+                    fields.add(text.toString());
+                    return fields;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            nextLine++;
+                        }
+                        append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(text.toString());
+                    text.setLength(0);
+                } else if (c == '\n') {
+                    nextLine++;
+                    fields.add(text.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private void startRow() {
+            line = nextLine;
+            tooLong = false;
+            rowChars = 0;
+            text.setLength(0);
+        }
+
+        private void append(char c) {
+            if (++rowChars > MAX_ROW_CHARS) {
+                tooLong = true;
+                text.setLength(0);
+            } else {
+                text.append(c);
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position];
+        }
+
+        private boolean fill() throws IOException {
+            int n = reader.read(buffer, 0, buffer.length);
+            if (n <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = n;
+            return true;
+        }
+    }
+}
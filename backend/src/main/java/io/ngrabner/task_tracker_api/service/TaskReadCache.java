@@ -0,0 +1,109 @@
+package io.ngrabner.task_tracker_api.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.ngrabner.task_tracker_api.web.dto.PagedResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for task reads (search pages, single tasks, change versions).
+ *
+ * Entries are keyed by the user's current generation, and a write moves the user to a new
+ * generation after it commits. Older entries are never looked up again and age out, so there
+ * is no window where a read that started before the commit can put stale data back.
+ * Local to this instance: TaskChangeListener invalidates a user's entries when another instance
+ * announces a write, so those show up within the notification delay; while its connection is
+ * down, within the TTL.
+ */
+@Component
+public class TaskReadCache {
+
+    private record Key(Long userId, long generation, Object read) {}
+
+    private final AtomicLong nextGeneration = new AtomicLong();
+    private final Cache<Long, Long> generations;
+    private final AsyncCache<Key, Object> entries;
+
+    public TaskReadCache(MeterRegistry meterRegistry,
+            @Value("${app.tasks.read-cache.max-tasks:100000}") long maxTasks,
+            @Value("${app.tasks.read-cache.ttl:30s}") Duration ttl) {
+        // A forgotten generation is replaced by a fresh one, which only costs misses
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxTasks)
+                .expireAfterAccess(ttl)
+                .build();
+        // Weighed by tasks held, so a cache full of 100-row pages stays within the same memory bound
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxTasks)
+                .weigher((Key key, Object value) ->
+                        value instanceof PagedResponse<?> page ? Math.max(1, page.getContent().size()) : 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "tasks.read");
+    }
+
+    // The first caller for a key loads it on its own thread (inside its transaction, if any) and
+    // concurrent callers wait on its future. Loading inside Cache.get would run the query while
+    // holding a ConcurrentHashMap bin lock, which pins a virtual thread to its carrier.
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, Object read, Supplier<T> loader) {
+        long generation = generations.get(userId, id -> nextGeneration.incrementAndGet());
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> entry = entries.get(new Key(userId, generation, read), (key, executor) -> mine);
+        if (entry == mine) {
+            try {
+                T value = loader.get();
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                // Failed futures are dropped from the cache, so the next caller loads again
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return (T) entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Deferred to after commit: invalidating earlier would let a concurrent read cache the old rows again
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance(userId);
+                }
+            });
+        } else {
+            advance(userId);
+        }
+    }
+
+    // Every user moves to a fresh generation on their next read
+    public void invalidateAll() {
+        generations.invalidateAll();
+    }
+
+    private void advance(Long userId) {
+        generations.put(userId, nextGeneration.incrementAndGet());
+    }
+}
@@ -1,59 +1,183 @@
 package io.ngrabner.task_tracker_api.service;
 
 import io.ngrabner.task_tracker_api.domain.Task;
+import io.ngrabner.task_tracker_api.domain.TaskStats;
 import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.TaskStatsRepository;
+import io.ngrabner.task_tracker_api.web.dto.CursorResponse;
 import io.ngrabner.task_tracker_api.web.dto.PagedResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.BulkTaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.BulkUpdateTasksRequest;
 import io.ngrabner.task_tracker_api.web.dto.task.CreateTaskRequest;
 import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskStatsResponse;
 import io.ngrabner.task_tracker_api.web.dto.task.TaskStatus;
 import io.ngrabner.task_tracker_api.web.dto.task.UpdateTaskRequest;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
 
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskStatsRepository taskStatsRepository;
+    private final TaskReadCache readCache;
+    private final TaskChangeNotifier changeNotifier;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double fuzzyThreshold;
+    private final int fuzzyMaxCandidates;
+    private final int batchMaxSize;
+    private final int bulkMaxRows;
 
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository,
+            TaskStatsRepository taskStatsRepository,
+            TaskReadCache readCache,
+            TaskChangeNotifier changeNotifier,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.search.fuzzy-threshold:0.4}") double fuzzyThreshold,
+            @Value("${app.search.fuzzy-max-candidates:1000}") int fuzzyMaxCandidates,
+            @Value("${app.tasks.batch-max-size:500}") int batchMaxSize,
+            @Value("${app.tasks.bulk-max-rows:1000}") int bulkMaxRows) {
         this.taskRepository = taskRepository;
+        this.taskStatsRepository = taskStatsRepository;
+        this.readCache = readCache;
+        this.changeNotifier = changeNotifier;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fuzzyThreshold = fuzzyThreshold;
+        this.fuzzyMaxCandidates = fuzzyMaxCandidates;
+        this.batchMaxSize = batchMaxSize;
+        this.bulkMaxRows = bulkMaxRows;
     }
 
     public TaskResponse createTask(Long userId, CreateTaskRequest request) {
+        Task savedTask = taskRepository.save(newTask(userId, request));
+        readCache.invalidate(userId);
+        changeNotifier.publish(userId, TaskChangeNotifier.CREATED, List.of(savedTask.getId()));
+        return toResponse(savedTask);
+    }
+
+    // All or nothing: one transaction, inserts flushed as JDBC batches (ids come from the pooled sequence)
+    @Transactional
+    public List<TaskResponse> createTasks(Long userId, List<CreateTaskRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one task is required");
+        }
+        if (requests.size() > batchMaxSize) {
+            throw new BadRequestException("At most " + batchMaxSize + " tasks can be created per request");
+        }
+
+        readCache.invalidate(userId);
+        List<Task> tasks = requests.stream()
+                .map(request -> newTask(userId, request))
+                .toList();
+        List<TaskResponse> created = taskRepository.saveAll(tasks)
+                .stream()
+                .map(TaskService::toResponse)
+                .toList();
+        changeNotifier.publish(userId, TaskChangeNotifier.CREATED,
+                created.stream().map(TaskResponse::getId).toList());
+        return created;
+    }
+
+    private static Task newTask(Long userId, CreateTaskRequest request) {
         Task task = new Task();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         task.setUserId(userId);
         TaskStatus status = request.getStatus() != null ? request.getStatus() : TaskStatus.TODO;
         task.setStatus(status.name());
-
-        Task savedTask = taskRepository.save(task);
-        return toResponse(savedTask);
+        return task;
     }
 
+    // Reads below are served from TaskReadCache; only a miss opens a transaction or touches the DB.
+    // Every write invalidates the user's entries once it commits.
+
+    private record TaskKey(Long taskId) {}
+
+    private static final String CHANGE_VERSION_KEY = "changeVersion";
+
     public TaskResponse getTask(Long userId, Long taskId) {
-        Task task = taskRepository.findByIdAndUserId(taskId, userId)
+        return findTask(userId, taskId)
                 .orElseThrow(() -> new NotFoundException("Task not found"));
-        return toResponse(task);
     }
 
-    public List<TaskResponse> listTasks(Long userId) {
-        return taskRepository.findAllByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::toResponse)
-                .toList();
+    private Optional<TaskResponse> findTask(Long userId, Long taskId) {
+        return readCache.get(userId, new TaskKey(taskId),
+                () -> taskRepository.findResponseByIdAndUserId(taskId, userId));
+    }
+
+    // Conditional GET support: cached like the reads they guard, so a 304 costs no DB round trip
+
+    // Bumped by the task_stats triggers on every write to the user's tasks (0 before the first one)
+    public long getChangeVersion(Long userId) {
+        return readCache.get(userId, CHANGE_VERSION_KEY,
+                () -> taskStatsRepository.findChangeVersion(userId).orElse(0L));
+    }
+
+    // Shares the cached task, so the 304 check and the 200 that follows it cost one lookup
+    public Optional<Long> getTaskVersion(Long userId, Long taskId) {
+        return findTask(userId, taskId).map(TaskResponse::getVersion);
+    }
+
+    // O(1) counts from task_stats; only the overdue count touches tasks (via a partial index)
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getStats(Long userId) {
+        TaskStats stats = taskStatsRepository.findById(userId).orElse(null);
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, stats != null ? countForStatus(stats, status.name()) : 0L);
+        }
+        return new TaskStatsResponse(
+                byStatus,
+                stats != null ? stats.getTotal() : 0L,
+                taskRepository.countOverdue(userId, Instant.now()));
+    }
+
+    private static long countForStatus(TaskStats stats, String status) {
+        return switch (status) {
+            case "TODO" -> stats.getTodoCount();
+            case "IN_PROGRESS" -> stats.getInProgressCount();
+            case "DONE" -> stats.getDoneCount();
+            default -> 0L;
+        };
     }
 
-    private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("createdAt", "updatedAt", "title");
+    private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("createdAt", "updatedAt", "title", "relevance");
+
+    // Native (full-text) queries sort by column, not by entity property
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "title", "title");
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
 
     private static final int MAX_PAGE_SIZE = 100;
 
+    private static final Set<String> TOTALS_POLICIES = Set.of("exact", "none", "estimated");
+
+    // The effective arguments of a search, after defaults and normalization. Doubles as its cache
+    // key, so "Groceries " and "groceries" (same tsquery) share one entry.
+    private record SearchKey(String mode, String text, String status, int page, int size,
+            String sortBy, Sort.Direction direction, String totals) {}
+
     public PagedResponse<TaskResponse> searchTasks(
             Long userId,
             String query,
@@ -61,7 +185,9 @@ public class TaskService {
             int page,
             int size,
             String sortBy,
-            String sortDir
+            String sortDir,
+            String mode,
+            String totals
     ) {
         // Validate pagination parameters
         if (page < 0) page = 0;
@@ -77,53 +203,307 @@ public class TaskService {
                 ? Sort.Direction.ASC
                 : Sort.Direction.DESC;
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-
         // Normalize empty strings to null for the query
         String normalizedQuery = (query != null && query.isBlank()) ? null : query;
         String normalizedStatus = (status != null && status.isBlank()) ? null : status;
 
-        Page<Task> taskPage = taskRepository.searchTasks(userId, normalizedQuery, normalizedStatus, pageable);
+        // "exact" (default) runs a count query; "none" and "estimated" skip it
+        String totalsPolicy = TOTALS_POLICIES.contains(totals) ? totals : "exact";
 
-        List<TaskResponse> content = taskPage.getContent()
-                .stream()
-                .map(this::toResponse)
-                .toList();
+        // Full-text is the default; "substring" keeps the old LIKE behaviour.
+        // Queries without any word characters also fall back to LIKE.
+        String tsQuery = "substring".equalsIgnoreCase(mode) ? null : toPrefixTsQuery(normalizedQuery);
+        SearchKey key;
+        if ("fuzzy".equalsIgnoreCase(mode) && normalizedQuery != null) {
+            // Always ranked by similarity; sortBy/sortDir do not apply
+            key = new SearchKey("fuzzy", normalizedQuery.trim(), normalizedStatus, page, size,
+                    "relevance", Sort.Direction.DESC, totalsPolicy);
+        } else if (tsQuery != null) {
+            if ("relevance".equals(sortBy)) direction = Sort.Direction.DESC;
+            key = new SearchKey("fulltext", tsQuery, normalizedStatus, page, size, sortBy, direction, totalsPolicy);
+        } else {
+            // Relevance means nothing without a text match
+            if ("relevance".equals(sortBy)) sortBy = "createdAt";
+            key = new SearchKey("substring", normalizedQuery, normalizedStatus, page, size, sortBy, direction,
+                    totalsPolicy);
+        }
+
+        // One transaction per miss, so the fuzzy similarity threshold applies to the search query
+        return readCache.get(userId, key, () -> readOnlyTransaction.execute(tx -> search(userId, key)));
+    }
+
+    // The page itself is always a Slice (one extra row fills hasNext), mapped straight to TaskResponse
+    private PagedResponse<TaskResponse> search(Long userId, SearchKey key) {
+        Slice<TaskResponse> slice = switch (key.mode()) {
+            case "fuzzy" -> {
+                taskRepository.setWordSimilarityThreshold(String.valueOf(fuzzyThreshold));
+                yield taskRepository.sliceResponsesFuzzy(
+                        userId, key.text(), key.status(), fuzzyMaxCandidates, PageRequest.of(key.page(), key.size()));
+            }
+            case "fulltext" -> "relevance".equals(key.sortBy())
+                    ? taskRepository.sliceResponsesFullTextByRank(
+                            userId, key.text(), key.status(), PageRequest.of(key.page(), key.size()))
+                    : taskRepository.sliceResponsesFullText(
+                            userId, key.text(), key.status(),
+                            PageRequest.of(key.page(), key.size(),
+                                    Sort.by(key.direction(), SORT_COLUMNS.get(key.sortBy()))));
+            default -> taskRepository.sliceResponses(
+                    userId, key.text(), key.status(),
+                    PageRequest.of(key.page(), key.size(), Sort.by(key.direction(), key.sortBy())));
+        };
+
+        Long totalElements = switch (key.totals()) {
+            case "exact" -> countTotal(userId, key, slice);
+            case "estimated" -> estimateTotal(userId, key, slice);
+            default -> null;
+        };
+        String totals = key.totals();
+        if ("fuzzy".equals(key.mode()) && totalElements != null && totalElements > fuzzyMaxCandidates) {
+            // More matches than get ranked: the ranked ones are all that can be paged through
+            totalElements = (long) fuzzyMaxCandidates;
+            totals = "estimated";
+        }
+        Integer totalPages = totalElements != null
+                ? (int) ((totalElements + key.size() - 1) / key.size())
+                : null;
 
         return new PagedResponse<>(
-                content,
-                taskPage.getNumber(),
-                taskPage.getSize(),
-                taskPage.getTotalElements(),
-                taskPage.getTotalPages()
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                totalElements,
+                totalPages,
+                slice.hasNext(),
+                totals
         );
     }
 
-    public TaskResponse updateTask(Long userId, Long taskId, UpdateTaskRequest request) {
-        Task task = taskRepository.findByIdAndUserId(taskId, userId)
-                .orElseThrow(() -> new NotFoundException("Task not found"));
+    // The total is already known when this is the last page (the same shortcut Spring Data's Page uses)
+    private static Long totalFromLastPage(Slice<?> slice) {
+        long offset = slice.getPageable().getOffset();
+        if (!slice.hasNext() && (slice.hasContent() || offset == 0)) {
+            return offset + slice.getNumberOfElements();
+        }
+        return null;
+    }
+
+    private long countTotal(Long userId, SearchKey key, Slice<?> slice) {
+        Long known = totalFromLastPage(slice);
+        // A last fuzzy page that ends at the cap may have had more matches behind it
+        if (known != null && !("fuzzy".equals(key.mode()) && known >= fuzzyMaxCandidates)) {
+            return known;
+        }
+        return switch (key.mode()) {
+            case "fuzzy" -> taskRepository.countTasksFuzzy(userId, key.text(), key.status(), fuzzyMaxCandidates);
+            case "fulltext" -> taskRepository.countTasksFullText(userId, key.text(), key.status());
+            default -> taskRepository.countTasks(userId, key.text(), key.status());
+        };
+    }
+
+    // Unfiltered and status-only lists use task_stats; text searches use the planner's row estimate
+    // for the same WHERE clause. Clamped so the estimate never contradicts the page itself.
+    private long estimateTotal(Long userId, SearchKey key, Slice<?> slice) {
+        Long known = totalFromLastPage(slice);
+        if (known != null) {
+            return known;
+        }
+
+        String status = key.status();
+        long estimate;
+        if (key.text() == null) {
+            estimate = taskStatsRepository.findById(userId)
+                    .map(stats -> status == null ? stats.getTotal() : countForStatus(stats, status))
+                    .orElse(0L);
+        } else if ("fuzzy".equals(key.mode())) {
+            estimate = Math.min(taskRepository.estimateFuzzyMatches(userId, key.text(), status), fuzzyMaxCandidates);
+        } else if ("fulltext".equals(key.mode())) {
+            estimate = taskRepository.estimateFullTextMatches(userId, key.text(), status);
+        } else {
+            estimate = taskRepository.estimateSubstringMatches(userId, key.text(), status);
+        }
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        return Math.max(estimate, seen + (slice.hasNext() ? 1 : 0));
+    }
 
-        if (request.getTitle() != null) {
-            task.setTitle(request.getTitle());
+    /**
+     * Keyset ("cursor") pagination: seeks past the last row of the previous page instead
+     * of using OFFSET, and skips the count query, so every page costs the same.
+     * Sorts by createdAt or updatedAt only; the cursor carries the sort it was issued for.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<TaskResponse> scrollTasks(
+            Long userId,
+            String query,
+            String status,
+            String cursor,
+            int size,
+            String sortBy,
+            String sortDir,
+            String mode
+    ) {
+        if (size < 1) size = 20;
+        if (size > MAX_PAGE_SIZE) size = MAX_PAGE_SIZE;
+
+        if ("fuzzy".equalsIgnoreCase(mode)) {
+            throw new BadRequestException("Fuzzy search is ranked by similarity and cannot be paged with a cursor");
         }
-        if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
+
+        TaskCursor after = (cursor == null || cursor.isBlank()) ? null : TaskCursor.decode(cursor);
+        boolean ascending;
+        if (after != null) {
+            sortBy = after.sortBy();
+            ascending = after.ascending();
+        } else {
+            if (sortBy == null || !TaskCursor.SORT_FIELDS.contains(sortBy)) {
+                sortBy = "createdAt";
+            }
+            ascending = "asc".equalsIgnoreCase(sortDir);
         }
-        if (request.getStatus() != null) {
-            task.setStatus(request.getStatus().name());
+
+        String normalizedQuery = (query != null && query.isBlank()) ? null : query;
+        String normalizedStatus = (status != null && status.isBlank()) ? null : status;
+        String tsQuery = "substring".equalsIgnoreCase(mode) ? null : toPrefixTsQuery(normalizedQuery);
+        String likePattern = (tsQuery == null && normalizedQuery != null)
+                ? "%" + normalizedQuery.toLowerCase(Locale.ROOT) + "%"
+                : null;
+
+        // One extra row tells us whether there is a next page
+        List<Task> rows = taskRepository.findPageAfter(
+                userId, tsQuery, likePattern, normalizedStatus,
+                SORT_COLUMNS.get(sortBy), ascending,
+                after != null ? after.value() : null,
+                after != null ? after.id() : null,
+                size + 1);
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Task last = rows.get(rows.size() - 1);
+            Instant value = "updatedAt".equals(sortBy) ? last.getUpdatedAt() : last.getCreatedAt();
+            nextCursor = new TaskCursor(sortBy, ascending, value, last.getId()).encode();
         }
 
-        Task updatedTask = taskRepository.save(task);
-        return toResponse(updatedTask);
+        List<TaskResponse> content = rows.stream()
+                .map(TaskService::toResponse)
+                .toList();
+
+        return new CursorResponse<>(content, size, nextCursor, hasNext);
     }
 
-    public void deleteTask(Long userId, Long taskId) {
-        Task task = taskRepository.findByIdAndUserId(taskId, userId)
-                .orElseThrow(() -> new NotFoundException("Task not found"));
-        taskRepository.delete(task);
+    // "buy groc" -> "buy:* & groc:*". Only letters and digits survive, so user input
+    // can never inject tsquery operators. Returns null when nothing is left to match.
+    static String toPrefixTsQuery(String query) {
+        if (query == null) return null;
+        StringJoiner terms = new StringJoiner(" & ");
+        for (String token : NON_WORD.split(query.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token + ":*");
+            }
+        }
+        return terms.length() == 0 ? null : terms.toString();
+    }
+
+    /**
+     * Single UPDATE ... RETURNING, no prior read. With an expected version (If-Match) the
+     * update only applies if nobody changed the task in between; otherwise 412.
+     */
+    @Transactional
+    public TaskResponse updateTask(Long userId, Long taskId, UpdateTaskRequest request, Long expectedVersion) {
+        readCache.invalidate(userId);
+        TaskResponse updated = taskRepository.updateIfVersion(
+                        taskId, userId,
+                        request.getTitle(),
+                        request.getDescription(),
+                        request.getStatus() != null ? request.getStatus().name() : null,
+                        expectedVersion)
+                .orElseThrow(() -> writeConflict(userId, taskId));
+        changeNotifier.publish(userId, TaskChangeNotifier.UPDATED, List.of(taskId));
+        return updated;
+    }
+
+    @Transactional
+    public void deleteTask(Long userId, Long taskId, Long expectedVersion) {
+        readCache.invalidate(userId);
+        int deleted = expectedVersion != null
+                ? taskRepository.deleteByIdAndUserIdAndVersion(taskId, userId, expectedVersion)
+                : taskRepository.deleteByIdAndUserId(taskId, userId);
+        if (deleted == 0) {
+            throw writeConflict(userId, taskId);
+        }
+        changeNotifier.publish(userId, TaskChangeNotifier.DELETED, List.of(taskId));
+    }
+
+    // The write matched nothing: either the task is gone (or not ours) or its version moved on
+    private RuntimeException writeConflict(Long userId, Long taskId) {
+        return taskRepository.findVersion(taskId, userId)
+                .<RuntimeException>map(current ->
+                        new PreconditionFailedException("Task was modified (current version " + current + ")"))
+                .orElseGet(() -> new NotFoundException("Task not found"));
+    }
+
+    // Bulk PATCH/DELETE: one set-based statement each, capped at bulkMaxRows rows per request
+
+    @Transactional
+    public BulkTaskResponse updateTasks(Long userId, List<Long> ids, String query, String status, String mode,
+            BulkUpdateTasksRequest request) {
+        BulkSelection selection = bulkSelection(ids, query, status, mode);
+        readCache.invalidate(userId);
+        BulkTaskResponse response = taskRepository.updateStatusMatching(
+                userId, selection.ids(), selection.tsQuery(), selection.likePattern(), selection.status(),
+                request.getStatus().name(), bulkMaxRows);
+        publishBulk(userId, TaskChangeNotifier.UPDATED, response);
+        return response;
+    }
+
+    @Transactional
+    public BulkTaskResponse deleteTasks(Long userId, List<Long> ids, String query, String status, String mode) {
+        BulkSelection selection = bulkSelection(ids, query, status, mode);
+        readCache.invalidate(userId);
+        BulkTaskResponse response = taskRepository.deleteMatching(
+                userId, selection.ids(), selection.tsQuery(), selection.likePattern(), selection.status(),
+                bulkMaxRows);
+        publishBulk(userId, TaskChangeNotifier.DELETED, response);
+        return response;
+    }
+
+    // Set-based: which rows changed is not known, so the event carries no ids
+    private void publishBulk(Long userId, String type, BulkTaskResponse response) {
+        if (response.getAffected() > 0) {
+            changeNotifier.publish(userId, type, null);
+        }
+    }
+
+    private record BulkSelection(List<Long> ids, String tsQuery, String likePattern, String status) {}
+
+    private BulkSelection bulkSelection(List<Long> ids, String query, String status, String mode) {
+        List<Long> normalizedIds = (ids == null || ids.isEmpty()) ? null : ids;
+        String normalizedQuery = (query != null && query.isBlank()) ? null : query;
+        String normalizedStatus = (status != null && status.isBlank()) ? null : status;
+
+        // Never act on every task just because the selectors were left out
+        if (normalizedIds == null && normalizedQuery == null && normalizedStatus == null) {
+            throw new BadRequestException("Select tasks with ids, query or status");
+        }
+        if (normalizedIds != null && normalizedIds.size() > bulkMaxRows) {
+            throw new BadRequestException("At most " + bulkMaxRows + " ids can be given per request");
+        }
+        if ("fuzzy".equalsIgnoreCase(mode) && normalizedQuery != null) {
+            throw new BadRequestException("Fuzzy matches are approximate and cannot select tasks for bulk changes");
+        }
+
+        String tsQuery = "substring".equalsIgnoreCase(mode) ? null : toPrefixTsQuery(normalizedQuery);
+        String likePattern = (tsQuery == null && normalizedQuery != null)
+                ? "%" + normalizedQuery.toLowerCase(Locale.ROOT) + "%"
+                : null;
+        return new BulkSelection(normalizedIds, tsQuery, likePattern, normalizedStatus);
     }
 
-    private TaskResponse toResponse(Task task) {
+    // Entity to response, for the write paths that hold an entity (public for HotPathBenchmarkTest)
+    public static TaskResponse toResponse(Task task) {
         TaskStatus status = TaskStatus.valueOf(task.getStatus());
 
         TaskResponse response = new TaskResponse();
@@ -135,6 +515,7 @@ public class TaskService {
         response.setUpdatedAt(task.getUpdatedAt());
         response.setPriority(task.getPriority());
         response.setDueAt(task.getDueAt());
+        response.setVersion(task.getVersion());
         return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package io.ngrabner.task_tracker_api.service;
+
+import io.ngrabner.task_tracker_api.repository.TaskStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Recounts task_stats from the tasks table and corrects any drift (e.g. rows changed
+ * with the triggers disabled). One short transaction per user, so request traffic
+ * is only ever blocked on the one user being recounted.
+ */
+@Service
+public class TaskStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsReconciler.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final TaskStatsRepository taskStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskReadCache readCache;
+
+    public TaskStatsReconciler(TaskStatsRepository taskStatsRepository, TransactionTemplate transactionTemplate,
+            TaskReadCache readCache) {
+        this.taskStatsRepository = taskStatsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.readCache = readCache;
+    }
+
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 30 3 * * *}")
+    public int reconcileAll() {
+        int corrected = 0;
+        long afterId = 0;
+        List<Long> userIds;
+        do {
+            userIds = taskStatsRepository.findUserIdsAfter(afterId, BATCH_SIZE);
+            for (Long userId : userIds) {
+                if (reconcile(userId)) {
+                    corrected++;
+                }
+            }
+            if (!userIds.isEmpty()) {
+                afterId = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == BATCH_SIZE);
+
+        if (corrected > 0) {
+            log.warn("task_stats reconciliation corrected {} user(s)", corrected);
+        }
+        return corrected;
+    }
+
+    public boolean reconcile(Long userId) {
+        Integer updated = transactionTemplate.execute(status -> {
+            taskStatsRepository.ensureRow(userId);
+            taskStatsRepository.lockRow(userId);
+            return taskStatsRepository.recount(userId);
+        });
+        boolean corrected = updated != null && updated > 0;
+        if (corrected) {
+            // Cached pages may carry totals estimated from the drifted counters
+            readCache.invalidate(userId);
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,42 @@
+package io.ngrabner.task_tracker_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Where a delta sync left off: the database snapshot it read from (pg_current_snapshot() as
+ * text, "xmin:xmax:xip,...") and when it was issued. Serialized as an opaque base64url token,
+ * like TaskCursor.
+ */
+record TaskSyncToken(String snapshot, Instant issuedAt) {
+
+    private static final Pattern SNAPSHOT = Pattern.compile("\\d{1,20}:\\d{1,20}:(\\d{1,20}(,\\d{1,20})*)?");
+
+    String encode() {
+        String raw = snapshot + "|" + issuedAt.getEpochSecond();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // First transaction id not yet assigned when the snapshot was taken
+    long xmax() {
+        return Long.parseUnsignedLong(snapshot.substring(snapshot.indexOf(':') + 1, snapshot.lastIndexOf(':')));
+    }
+
+    static TaskSyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2 || !SNAPSHOT.matcher(parts[0]).matches()) {
+                throw new BadRequestException("Invalid sync token");
+            }
+            TaskSyncToken decoded = new TaskSyncToken(parts[0], Instant.ofEpochSecond(Long.parseLong(parts[1])));
+            decoded.xmax();
+            return decoded;
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+}
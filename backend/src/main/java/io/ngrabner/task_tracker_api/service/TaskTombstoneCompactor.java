@@ -0,0 +1,40 @@
+package io.ngrabner.task_tracker_api.service;
+
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Purges task_tombstones that no valid sync token can ask for any more (TaskSyncService)
+@Component
+public class TaskTombstoneCompactor {
+
+    // Tombstones are stamped when their transaction started; this covers ones that ran long
+    private static final Duration GRACE = Duration.ofDays(1);
+    private static final int BATCH_SIZE = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final Duration retention;
+
+    public TaskTombstoneCompactor(TaskRepository taskRepository,
+            @Value("${app.tasks.sync.tombstone-retention:P30D}") Duration retention) {
+        this.taskRepository = taskRepository;
+        this.retention = retention;
+    }
+
+    // One short transaction per batch
+    @Scheduled(cron = "${app.tasks.sync.compact-cron:0 0 4 * * *}")
+    public int compact() {
+        Instant before = Instant.now().minus(retention).minus(GRACE);
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = taskRepository.deleteTombstonesBefore(before, BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == BATCH_SIZE);
+        return purged;
+    }
+}
@@ -47,16 +47,10 @@ public class AuthController {
         try {
             var info = googleTokenVerifierService.verify(request.getIdToken());
 
-            User user = userRepository.findByGoogleSub(info.sub())
-                    .orElseGet(User::new);
+            Long userId = userRepository.upsertFromLogin(info.sub(), info.email(), info.name())
+                    .orElseGet(() -> userRepository.findByGoogleSub(info.sub()).map(User::getId).orElseThrow());
 
-            user.setGoogleSub(info.sub());
-            user.setEmail(info.email());
-            user.setName(info.name());
-
-            user = userRepository.save(user);
-
-            String accessToken = jwtService.createToken(user.getId(), user.getEmail());
+            String accessToken = jwtService.createToken(userId, info.email());
 
             ResponseCookie cookie = ResponseCookie.from(cookieName, accessToken)
                     .httpOnly(true)
@@ -68,7 +62,7 @@ public class AuthController {
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.SET_COOKIE, cookie.toString())
-                    .body(new AuthResponse(user.getId(), user.getEmail(), user.getName()));
+                    .body(new AuthResponse(userId, info.email(), info.name()));
         } catch (IllegalStateException e) {
             // backend misconfigured
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
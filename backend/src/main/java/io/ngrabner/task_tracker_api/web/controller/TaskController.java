@@ -1,25 +1,61 @@
 package io.ngrabner.task_tracker_api.web.controller;
 
 import io.ngrabner.task_tracker_api.auth.CurrentUser;
+import io.ngrabner.task_tracker_api.service.PreconditionFailedException;
+import io.ngrabner.task_tracker_api.service.TaskChangeFeed;
+import io.ngrabner.task_tracker_api.service.TaskExporter;
+import io.ngrabner.task_tracker_api.service.TaskImporter;
 import io.ngrabner.task_tracker_api.service.TaskService;
+import io.ngrabner.task_tracker_api.service.TaskSyncService;
+import io.ngrabner.task_tracker_api.web.dto.CursorResponse;
 import io.ngrabner.task_tracker_api.web.dto.PagedResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.BulkTaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.BulkUpdateTasksRequest;
 import io.ngrabner.task_tracker_api.web.dto.task.CreateTaskRequest;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskChangesResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.ImportTasksResponse;
 import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskStatsResponse;
 import io.ngrabner.task_tracker_api.web.dto.task.UpdateTaskRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    // Browsers may keep responses but must revalidate (If-None-Match) before every reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService taskService;
+    private final TaskExporter taskExporter;
+    private final TaskImporter taskImporter;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskSyncService taskSyncService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExporter taskExporter, TaskImporter taskImporter,
+            TaskChangeFeed taskChangeFeed, TaskSyncService taskSyncService) {
         this.taskService = taskService;
+        this.taskExporter = taskExporter;
+        this.taskImporter = taskImporter;
+        this.taskChangeFeed = taskChangeFeed;
+        this.taskSyncService = taskSyncService;
     }
 
     private Long currentUserId(Authentication authentication) {
@@ -35,43 +71,221 @@ public class TaskController {
         return taskService.createTask(currentUserId(authentication), request);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TaskResponse> createTasks(Authentication authentication,
+            @RequestBody List<@NotNull @Valid CreateTaskRequest> requests) {
+        return taskService.createTasks(currentUserId(authentication), requests);
+    }
+
+    @GetMapping("/stats")
+    public TaskStatsResponse getStats(Authentication authentication) {
+        return taskService.getStats(currentUserId(authentication));
+    }
+
+    // All tasks, streamed from a DB cursor to the response: GET /api/tasks/export?format=ndjson|csv
+    @GetMapping("/export")
+    public void exportTasks(
+            Authentication authentication,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        Long userId = currentUserId(authentication);
+        TaskExporter.Format exportFormat = TaskExporter.Format.parse(format);
+        response.setContentType(exportFormat.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"tasks." + exportFormat.extension() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        taskExporter.export(userId, exportFormat, response.getOutputStream());
+    }
+
+    // Rows streamed from the request body into the user's tasks: POST /api/tasks/import?format=ndjson|csv
+    @PostMapping("/import")
+    public ImportTasksResponse importTasks(
+            Authentication authentication,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletRequest request) throws IOException {
+        Long userId = currentUserId(authentication);
+        TaskExporter.Format importFormat = TaskExporter.Format.parse(format);
+        return taskImporter.importTasks(userId, importFormat, request.getInputStream());
+    }
+
+    // Server-sent events for the user's task changes: ready, then created/updated/deleted/resync
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(Authentication authentication, HttpServletResponse response) {
+        Long userId = currentUserId(authentication);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        // Reverse proxies (nginx) must pass events through as they come
+        response.setHeader("X-Accel-Buffering", "no");
+        return taskChangeFeed.subscribe(userId);
+    }
+
+    // Tasks created, updated or deleted since ?since=<syncToken>; 410 means reload everything
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            Authentication authentication,
+            @RequestParam(required = false) String since) {
+        TaskChangesResponse changes = taskSyncService.changesSince(currentUserId(authentication), since);
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(changes);
+    }
+
     @GetMapping("/{taskId}")
-    public TaskResponse getTaskById(Authentication authentication, @PathVariable Long taskId) {
-        return taskService.getTask(currentUserId(authentication), taskId);
+    public ResponseEntity<TaskResponse> getTaskById(
+            Authentication authentication,
+            @PathVariable Long taskId,
+            ServletWebRequest webRequest) {
+        Long userId = currentUserId(authentication);
+        // Revalidation reads only the version; a missing task falls through to the 404
+        Optional<Long> version = taskService.getTaskVersion(userId, taskId);
+        if (version.isPresent() && notModified(webRequest, taskETag(version.get()))) {
+            return null;
+        }
+        return withETag(taskService.getTask(userId, taskId));
     }
 
+    // Lists carry a weak ETag from the user's change version, checked before any search or count runs
     @GetMapping
     public PagedResponse<TaskResponse> getAllTasks(
             Authentication authentication,
+            ServletWebRequest webRequest,
             @RequestParam(required = false) String query,
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "fulltext") String mode,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "exact") String totals
     ) {
+        Long userId = currentUserId(authentication);
+        if (notModified(webRequest, listETag(userId))) {
+            return null;
+        }
         return taskService.searchTasks(
-                currentUserId(authentication),
+                userId,
                 query,
                 status,
                 page,
                 size,
                 sortBy,
-                sortDir
+                sortDir,
+                fuzzy ? "fuzzy" : mode,
+                totals
         );
     }
 
+    // Keyset pagination: GET /api/tasks?pagination=cursor[&cursor=<nextCursor>]
+    @GetMapping(params = "pagination=cursor")
+    public CursorResponse<TaskResponse> scrollTasks(
+            Authentication authentication,
+            ServletWebRequest webRequest,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "fulltext") String mode,
+            @RequestParam(defaultValue = "false") boolean fuzzy
+    ) {
+        Long userId = currentUserId(authentication);
+        if (notModified(webRequest, listETag(userId))) {
+            return null;
+        }
+        return taskService.scrollTasks(
+                userId,
+                query,
+                status,
+                cursor,
+                size,
+                sortBy,
+                sortDir,
+                fuzzy ? "fuzzy" : mode
+        );
+    }
+
+    // Bulk changes: select tasks with ids and/or the list filters (query, status, mode)
+    @PatchMapping
+    public BulkTaskResponse updateTasks(
+            Authentication authentication,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "fulltext") String mode,
+            @Valid @RequestBody BulkUpdateTasksRequest request
+    ) {
+        return taskService.updateTasks(currentUserId(authentication), ids, query, status, mode, request);
+    }
+
+    @DeleteMapping
+    public BulkTaskResponse deleteTasks(
+            Authentication authentication,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "fulltext") String mode
+    ) {
+        return taskService.deleteTasks(currentUserId(authentication), ids, query, status, mode);
+    }
+
+    // If-Match makes the write conditional on the task's current ETag (412 when it moved on)
     @PutMapping("/{taskId}")
-    public TaskResponse updateTask(
+    public ResponseEntity<TaskResponse> updateTask(
             Authentication authentication,
             @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateTaskRequest request) {
-        return taskService.updateTask(currentUserId(authentication), taskId, request);
+        return withETag(taskService.updateTask(
+                currentUserId(authentication), taskId, request, expectedVersion(ifMatch)));
     }
 
     @DeleteMapping("/{taskId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteTask(Authentication authentication, @PathVariable Long taskId) {
-        taskService.deleteTask(currentUserId(authentication), taskId);
+    public void deleteTask(
+            Authentication authentication,
+            @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.deleteTask(currentUserId(authentication), taskId, expectedVersion(ifMatch));
+    }
+
+    // A task's ETag is its version: "3". Strong, because it doubles as the If-Match token.
+    private static String taskETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static ResponseEntity<TaskResponse> withETag(TaskResponse task) {
+        return ResponseEntity.ok()
+                .eTag(taskETag(task.getVersion()))
+                .cacheControl(REVALIDATE)
+                .body(task);
+    }
+
+    // Weak: the body also depends on things like planner estimates that can shift without a write.
+    // The user id keeps one account's cached list from ever validating for another in a shared browser.
+    private String listETag(Long userId) {
+        return "W/\"" + userId + "-" + taskService.getChangeVersion(userId) + "\"";
+    }
+
+    // Sets ETag and Cache-Control either way; true means a 304 was sent and the handler should return null
+    private static boolean notModified(ServletWebRequest webRequest, String eTag) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        return webRequest.checkNotModified(eTag);
+    }
+
+    // No header or "*" means unconditional. Weak or malformed tags can never match (If-Match
+    // uses strong comparison), so they fail the precondition rather than being ignored.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the task's ETag");
+        }
     }
 }
@@ -6,17 +6,24 @@ public class PagedResponse<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    // null when totals=none
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean hasNext;
+    // Which totals policy produced totalElements: "exact", "estimated" or "none"
+    private String totals;
 
     public PagedResponse() {}
 
-    public PagedResponse(List<T> content, int page, int size, long totalElements, int totalPages) {
+    public PagedResponse(List<T> content, int page, int size, Long totalElements, Integer totalPages,
+            boolean hasNext, String totals) {
         this.content = content;
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
         this.totalPages = totalPages;
+        this.hasNext = hasNext;
+        this.totals = totals;
     }
 
     public List<T> getContent() {
@@ -43,19 +50,35 @@ public class PagedResponse<T> {
         this.size = size;
     }
 
-    public long getTotalElements() {
+    public Long getTotalElements() {
         return totalElements;
     }
 
-    public void setTotalElements(long totalElements) {
+    public void setTotalElements(Long totalElements) {
         this.totalElements = totalElements;
     }
 
-    public int getTotalPages() {
+    public Integer getTotalPages() {
         return totalPages;
     }
 
-    public void setTotalPages(int totalPages) {
+    public void setTotalPages(Integer totalPages) {
         this.totalPages = totalPages;
     }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getTotals() {
+        return totals;
+    }
+
+    public void setTotals(String totals) {
+        this.totals = totals;
+    }
 }
@@ -0,0 +1,32 @@
+package io.ngrabner.task_tracker_api.web.dto.task;
+
+public class BulkTaskResponse {
+
+    private int affected;
+    // More tasks matched than the per-request row cap; repeat the request to continue
+    private boolean hasMore;
+
+    public BulkTaskResponse() {
+    }
+
+    public BulkTaskResponse(int affected, boolean hasMore) {
+        this.affected = affected;
+        this.hasMore = hasMore;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,17 @@
+package io.ngrabner.task_tracker_api.web.dto.task;
+
+import jakarta.validation.constraints.NotNull;
+
+public class BulkUpdateTasksRequest {
+
+    @NotNull
+    private TaskStatus status;
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+}
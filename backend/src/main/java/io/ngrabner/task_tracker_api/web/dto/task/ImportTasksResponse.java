@@ -0,0 +1,75 @@
+package io.ngrabner.task_tracker_api.web.dto.task;
+
+import java.util.List;
+
+public class ImportTasksResponse {
+
+    public static class RowError {
+
+        // Line of the input the row starts on (1-based, the CSV header is line 1)
+        private long line;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+
+    private long imported;
+    private long rejected;
+    // The first rejected rows only; rejected has the full count
+    private List<RowError> errors;
+
+    public ImportTasksResponse() {
+    }
+
+    public ImportTasksResponse(long imported, long rejected, List<RowError> errors) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.errors = errors;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,35 @@
+package io.ngrabner.task_tracker_api.web.dto.task;
+
+import java.util.List;
+
+public class TaskChangeEvent {
+
+    // created, updated or deleted (also the SSE event name)
+    private String type;
+    // Null when too many tasks changed to list (bulk changes, imports): refetch instead
+    private List<Long> ids;
+
+    public TaskChangeEvent() {
+    }
+
+    public TaskChangeEvent(String type, List<Long> ids) {
+        this.type = type;
+        this.ids = ids;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,46 @@
+package io.ngrabner.task_tracker_api.web.dto.task;
+
+import java.util.List;
+
+public class TaskChangesResponse {
+
+    // Tasks created or updated since the token, as they are now
+    private List<TaskResponse> tasks;
+    // Tasks deleted since the token (possibly ones the client never saw)
+    private List<Long> deletedIds;
+    // Pass as ?since= on the next sync
+    private String syncToken;
+
+    public TaskChangesResponse() {
+    }
+
+    public TaskChangesResponse(List<TaskResponse> tasks, List<Long> deletedIds, String syncToken) {
+        this.tasks = tasks;
+        this.deletedIds = deletedIds;
+        this.syncToken = syncToken;
+    }
+
+    public List<TaskResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    public String getSyncToken() {
+        return syncToken;
+    }
+
+    public void setSyncToken(String syncToken) {
+        this.syncToken = syncToken;
+    }
+}
@@ -12,12 +12,13 @@ public class TaskResponse {
     private Instant updatedAt;
     private String priority;
     private Instant dueAt;
+    private Long version;
 
     public TaskResponse() {
     }
 
     public TaskResponse(Long id, String title, String description, TaskStatus status,
-            Instant createdAt, Instant updatedAt, String priority, Instant dueAt) {
+            Instant createdAt, Instant updatedAt, String priority, Instant dueAt, Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -26,6 +27,13 @@ public class TaskResponse {
         this.updatedAt = updatedAt;
         this.priority = priority;
         this.dueAt = dueAt;
+        this.version = version;
+    }
+
+    // Projection constructor used by TaskRepository read queries (status arrives as the raw column)
+    public TaskResponse(Long id, String title, String description, String status,
+            Instant createdAt, Instant updatedAt, String priority, Instant dueAt, Long version) {
+        this(id, title, description, TaskStatus.valueOf(status), createdAt, updatedAt, priority, dueAt, version);
     }
 
     public Long getId() {
@@ -91,4 +99,12 @@ public class TaskResponse {
     public void setDueAt(Instant dueAt) {
         this.dueAt = dueAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
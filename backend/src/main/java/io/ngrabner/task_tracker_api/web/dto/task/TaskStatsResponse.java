@@ -0,0 +1,44 @@
+package io.ngrabner.task_tracker_api.web.dto.task;
+
+import java.util.Map;
+
+public class TaskStatsResponse {
+
+    private Map<TaskStatus, Long> byStatus;
+    private long total;
+    // Open (not DONE) tasks whose dueAt has passed
+    private long overdue;
+
+    public TaskStatsResponse() {
+    }
+
+    public TaskStatsResponse(Map<TaskStatus, Long> byStatus, long total, long overdue) {
+        this.byStatus = byStatus;
+        this.total = total;
+        this.overdue = overdue;
+    }
+
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<TaskStatus, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+}
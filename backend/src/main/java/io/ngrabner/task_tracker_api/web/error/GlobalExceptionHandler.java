@@ -1,13 +1,18 @@
 package io.ngrabner.task_tracker_api.web.error;
 
+import io.ngrabner.task_tracker_api.service.BadRequestException;
 import io.ngrabner.task_tracker_api.service.NotFoundException;
+import io.ngrabner.task_tracker_api.service.PreconditionFailedException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 
@@ -30,6 +35,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    // Constraint violations inside a list body, e.g. POST /api/tasks/batch -> "[3].title: must not be blank"
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleMethodValidation(HandlerMethodValidationException ex,
+            HttpServletRequest request) {
+        String message = "Validation failed";
+        if (!ex.getParameterValidationResults().isEmpty()) {
+            var result = ex.getParameterValidationResults().get(0);
+            var error = result.getResolvableErrors().get(0);
+            String prefix = result.getContainerIndex() != null ? "[" + result.getContainerIndex() + "]" : "";
+            message = error instanceof FieldError fe
+                    ? prefix + "." + fe.getField() + ": " + fe.getDefaultMessage()
+                    : prefix + " " + error.getDefaultMessage();
+        }
+        ErrorResponse body = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST,
+                "VALIDATION_ERROR",
+                message.trim(),
+                request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     @ExceptionHandler({ NotFoundException.class, EntityNotFoundException.class })
     public ResponseEntity<ErrorResponse> handleNotFound(Exception ex, HttpServletRequest request) {
         ErrorResponse body = ErrorResponse.of(
@@ -40,6 +66,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequest(BadRequestException ex, HttpServletRequest request) {
+        ErrorResponse body = ErrorResponse.of(
+                HttpStatus.BAD_REQUEST,
+                "BAD_REQUEST",
+                ex.getMessage(),
+                request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex,
+            HttpServletRequest request) {
+        ErrorResponse body = ErrorResponse.of(
+                HttpStatus.PRECONDITION_FAILED,
+                "PRECONDITION_FAILED",
+                ex.getMessage(),
+                request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    // Keeps the status the controller chose (e.g. 401 for a rejected Google token) instead of a 500
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatus(ResponseStatusException ex,
+            HttpServletRequest request) {
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
+        ErrorResponse body = ErrorResponse.of(
+                status,
+                status.name(),
+                ex.getReason() != null ? ex.getReason() : status.getReasonPhrase(),
+                request.getRequestURI());
+        return ResponseEntity.status(status).body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, HttpServletRequest request) {
 
@@ -0,0 +1,3 @@
+-- Keyset scrolling by updated_at (pagination=cursor&sortBy=updatedAt): the seek and the
+-- ORDER BY updated_at, id are both served by the index, without reading the user's other tasks.
+CREATE INDEX idx_tasks_user_updated_at ON tasks(user_id, updated_at DESC, id DESC);
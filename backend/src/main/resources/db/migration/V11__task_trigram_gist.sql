@@ -0,0 +1,9 @@
+-- Fuzzy search ranks at most app.search.fuzzy-max-candidates matches. GiST trigram indexes
+-- return rows in word-similarity distance order (<<->), so those are the closest matches rather
+-- than whichever the scan reached first. The GIN indexes from V3 stay: for rare terms a bitmap
+-- scan of all matches plus a top-N sort is cheaper, and the planner picks per query.
+-- btree_gist lets user_id live in the same index, as btree_gin does for V2.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX idx_tasks_user_title_trgm_gist ON tasks USING GIST (user_id, title gist_trgm_ops);
+CREATE INDEX idx_tasks_user_description_trgm_gist ON tasks USING GIST (user_id, description gist_trgm_ops);
@@ -0,0 +1,12 @@
+-- Full-text search over title (weight A) and description (weight B).
+-- 'simple' config: no stemming, so prefix queries from the search box match what was typed.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE tasks ADD COLUMN search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+  ) STORED;
+
+-- btree_gin lets user_id live in the same GIN index, so the match is scoped per user
+CREATE INDEX idx_tasks_user_search_vector ON tasks USING GIN (user_id, search_vector);
@@ -0,0 +1,6 @@
+-- Trigram indexes for fuzzy (typo-tolerant, partial word) search.
+-- word_similarity operators (<%, %>) are served by gin_trgm_ops.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_tasks_user_title_trgm ON tasks USING GIN (user_id, title gin_trgm_ops);
+CREATE INDEX idx_tasks_user_description_trgm ON tasks USING GIN (user_id, description gin_trgm_ops);
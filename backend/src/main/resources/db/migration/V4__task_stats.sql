@@ -0,0 +1,92 @@
+-- Per-user task counts by status, kept in step by statement-level triggers so every
+-- write path (single, batch, bulk, COPY) updates it once per statement, not per row.
+CREATE TABLE task_stats (
+  user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+  todo_count BIGINT NOT NULL DEFAULT 0,
+  in_progress_count BIGINT NOT NULL DEFAULT 0,
+  done_count BIGINT NOT NULL DEFAULT 0,
+  updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO task_stats (user_id, todo_count, in_progress_count, done_count)
+SELECT user_id,
+       count(*) FILTER (WHERE status = 'TODO'),
+       count(*) FILTER (WHERE status = 'IN_PROGRESS'),
+       count(*) FILTER (WHERE status = 'DONE')
+FROM tasks
+GROUP BY user_id;
+
+CREATE FUNCTION task_stats_after_insert() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  INSERT INTO task_stats AS s (user_id, todo_count, in_progress_count, done_count)
+  SELECT user_id,
+         count(*) FILTER (WHERE status = 'TODO'),
+         count(*) FILTER (WHERE status = 'IN_PROGRESS'),
+         count(*) FILTER (WHERE status = 'DONE')
+  FROM new_rows
+  GROUP BY user_id
+  ON CONFLICT (user_id) DO UPDATE SET
+    todo_count = s.todo_count + EXCLUDED.todo_count,
+    in_progress_count = s.in_progress_count + EXCLUDED.in_progress_count,
+    done_count = s.done_count + EXCLUDED.done_count,
+    updated_at = now();
+  RETURN NULL;
+END $$;
+
+-- Net change per user; rows whose status did not change cancel out and are skipped
+CREATE FUNCTION task_stats_after_update() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  INSERT INTO task_stats AS s (user_id, todo_count, in_progress_count, done_count)
+  SELECT user_id,
+         COALESCE(sum(d) FILTER (WHERE status = 'TODO'), 0),
+         COALESCE(sum(d) FILTER (WHERE status = 'IN_PROGRESS'), 0),
+         COALESCE(sum(d) FILTER (WHERE status = 'DONE'), 0)
+  FROM (SELECT user_id, status, 1 AS d FROM new_rows
+        UNION ALL
+        SELECT user_id, status, -1 AS d FROM old_rows) changes
+  GROUP BY user_id
+  HAVING COALESCE(sum(d) FILTER (WHERE status = 'TODO'), 0) <> 0
+      OR COALESCE(sum(d) FILTER (WHERE status = 'IN_PROGRESS'), 0) <> 0
+      OR COALESCE(sum(d) FILTER (WHERE status = 'DONE'), 0) <> 0
+  ON CONFLICT (user_id) DO UPDATE SET
+    todo_count = s.todo_count + EXCLUDED.todo_count,
+    in_progress_count = s.in_progress_count + EXCLUDED.in_progress_count,
+    done_count = s.done_count + EXCLUDED.done_count,
+    updated_at = now();
+  RETURN NULL;
+END $$;
+
+-- UPDATE only: when a user is deleted the cascade removes their stats row,
+-- and re-inserting it would violate the foreign key
+CREATE FUNCTION task_stats_after_delete() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  UPDATE task_stats s SET
+    todo_count = s.todo_count - d.todo_count,
+    in_progress_count = s.in_progress_count - d.in_progress_count,
+    done_count = s.done_count - d.done_count,
+    updated_at = now()
+  FROM (SELECT user_id,
+               count(*) FILTER (WHERE status = 'TODO') AS todo_count,
+               count(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_count,
+               count(*) FILTER (WHERE status = 'DONE') AS done_count
+        FROM old_rows
+        GROUP BY user_id) d
+  WHERE s.user_id = d.user_id;
+  RETURN NULL;
+END $$;
+
+CREATE TRIGGER tasks_stats_insert AFTER INSERT ON tasks
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION task_stats_after_insert();
+
+CREATE TRIGGER tasks_stats_update AFTER UPDATE ON tasks
+  REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION task_stats_after_update();
+
+CREATE TRIGGER tasks_stats_delete AFTER DELETE ON tasks
+  REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION task_stats_after_delete();
+
+-- Overdue depends on the clock, so it is counted on demand from open tasks with a due date only
+CREATE INDEX idx_tasks_user_open_due_at ON tasks (user_id, due_at)
+  WHERE status <> 'DONE' AND due_at IS NOT NULL;
@@ -0,0 +1,4 @@
+-- Task ids now come from a pooled sequence (allocationSize = 50 on Task.id): Hibernate
+-- reserves 50 ids per nextval, so new tasks can be inserted in JDBC batches.
+-- The column default still works for plain SQL inserts.
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
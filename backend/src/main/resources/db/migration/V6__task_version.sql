@@ -0,0 +1,2 @@
+-- Optimistic concurrency: bumped by every update, compared against If-Match
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,62 @@
+-- Per-user change counter for list/detail ETags: bumped by the task_stats triggers on every
+-- statement that inserts, updates or deletes a user's tasks, whichever path issued it.
+ALTER TABLE task_stats ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION task_stats_after_insert() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  INSERT INTO task_stats AS s (user_id, todo_count, in_progress_count, done_count, change_version)
+  SELECT user_id,
+         count(*) FILTER (WHERE status = 'TODO'),
+         count(*) FILTER (WHERE status = 'IN_PROGRESS'),
+         count(*) FILTER (WHERE status = 'DONE'),
+         1
+  FROM new_rows
+  GROUP BY user_id
+  ON CONFLICT (user_id) DO UPDATE SET
+    todo_count = s.todo_count + EXCLUDED.todo_count,
+    in_progress_count = s.in_progress_count + EXCLUDED.in_progress_count,
+    done_count = s.done_count + EXCLUDED.done_count,
+    change_version = s.change_version + 1,
+    updated_at = now();
+  RETURN NULL;
+END $$;
+
+-- Every updated user gets a new change_version, even when no status moved
+CREATE OR REPLACE FUNCTION task_stats_after_update() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  INSERT INTO task_stats AS s (user_id, todo_count, in_progress_count, done_count, change_version)
+  SELECT user_id,
+         COALESCE(sum(d) FILTER (WHERE status = 'TODO'), 0),
+         COALESCE(sum(d) FILTER (WHERE status = 'IN_PROGRESS'), 0),
+         COALESCE(sum(d) FILTER (WHERE status = 'DONE'), 0),
+         1
+  FROM (SELECT user_id, status, 1 AS d FROM new_rows
+        UNION ALL
+        SELECT user_id, status, -1 AS d FROM old_rows) changes
+  GROUP BY user_id
+  ON CONFLICT (user_id) DO UPDATE SET
+    todo_count = s.todo_count + EXCLUDED.todo_count,
+    in_progress_count = s.in_progress_count + EXCLUDED.in_progress_count,
+    done_count = s.done_count + EXCLUDED.done_count,
+    change_version = s.change_version + 1,
+    updated_at = now();
+  RETURN NULL;
+END $$;
+
+CREATE OR REPLACE FUNCTION task_stats_after_delete() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  UPDATE task_stats s SET
+    todo_count = s.todo_count - d.todo_count,
+    in_progress_count = s.in_progress_count - d.in_progress_count,
+    done_count = s.done_count - d.done_count,
+    change_version = s.change_version + 1,
+    updated_at = now()
+  FROM (SELECT user_id,
+               count(*) FILTER (WHERE status = 'TODO') AS todo_count,
+               count(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_count,
+               count(*) FILTER (WHERE status = 'DONE') AS done_count
+        FROM old_rows
+        GROUP BY user_id) d
+  WHERE s.user_id = d.user_id;
+  RETURN NULL;
+END $$;
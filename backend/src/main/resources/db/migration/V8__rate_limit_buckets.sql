@@ -0,0 +1,9 @@
+-- Shared rate limiter state (RateLimitBucketRepository.claim). One row per limited key: the
+-- time, in microseconds of the database clock, at which its token bucket is full again.
+-- UNLOGGED: losing the rows in a crash only resets the limits, and it saves the WAL writes.
+CREATE UNLOGGED TABLE rate_limit_buckets (
+  key TEXT PRIMARY KEY,
+  full_at_us BIGINT NOT NULL,
+  granted INT NOT NULL,
+  seen_at_us BIGINT NOT NULL
+);
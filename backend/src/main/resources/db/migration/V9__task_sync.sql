@@ -0,0 +1,46 @@
+-- Delta sync (GET /api/tasks/changes). Every task row carries the id of the transaction that last
+-- wrote it, and deletes leave a tombstone with the id of the deleting transaction. A sync token is
+-- the snapshot of the previous sync: what changed since is every row whose writer was not visible in it.
+
+-- Added without a default first, so existing rows stay NULL (never reported as changed) and the
+-- table is not rewritten; the default then applies to new rows only.
+ALTER TABLE tasks ADD COLUMN change_xid xid8;
+ALTER TABLE tasks ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id();
+
+CREATE FUNCTION tasks_set_change_xid() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  NEW.change_xid := pg_current_xact_id();
+  RETURN NEW;
+END $$;
+
+CREATE TRIGGER tasks_set_change_xid
+  BEFORE UPDATE ON tasks
+  FOR EACH ROW EXECUTE FUNCTION tasks_set_change_xid();
+
+CREATE INDEX idx_tasks_user_change_xid ON tasks(user_id, change_xid);
+
+-- No foreign key: tombstones outlive their tasks, and are purged by TaskTombstoneCompactor
+CREATE TABLE task_tombstones (
+  user_id BIGINT NOT NULL,
+  task_id BIGINT NOT NULL,
+  deleted_xid xid8 NOT NULL DEFAULT pg_current_xact_id(),
+  deleted_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_task_tombstones_user_deleted_xid ON task_tombstones(user_id, deleted_xid);
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones(deleted_at);
+
+-- Tasks removed along with their user (ON DELETE CASCADE) need none: nobody is left to sync them
+CREATE FUNCTION tasks_after_delete_tombstone() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+  INSERT INTO task_tombstones (user_id, task_id)
+  SELECT o.user_id, o.id
+  FROM old_rows o
+  WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = o.user_id);
+  RETURN NULL;
+END $$;
+
+CREATE TRIGGER tasks_after_delete_tombstone
+  AFTER DELETE ON tasks
+  REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION tasks_after_delete_tombstone();
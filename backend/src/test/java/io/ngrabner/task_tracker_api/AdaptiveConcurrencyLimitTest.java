@@ -0,0 +1,99 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.security.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long BASE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void readsAreCappedBelowTheLimit_writesMayUseAllOfIt() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, 0.8);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limit.tryAcquire(false)).isTrue();
+        }
+        assertThat(limit.tryAcquire(false)).isFalse();
+        assertThat(limit.tryAcquire(true)).isTrue();
+        assertThat(limit.tryAcquire(true)).isTrue();
+        assertThat(limit.tryAcquire(true)).isFalse();
+
+        limit.onIgnore();
+        assertThat(limit.inFlight()).isEqualTo(9);
+    }
+
+    @Test
+    void growsWhileLatencyStaysFlat() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.0);
+
+        runSaturated(limit, 50, BASE);
+
+        assertThat(limit.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    void shrinks_whenRequestsQueue() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 200, 1.0);
+        runSaturated(limit, 20, BASE);
+
+        // Ten times the no-queue latency: most of the in-flight requests are waiting
+        runSaturated(limit, 40, 10 * BASE);
+
+        // Settles where the estimated queue is within the tolerated few requests
+        assertThat(limit.limit()).isBetween(4, 8);
+    }
+
+    @Test
+    void cheapRequestsMixedIn_doNotSetTheBaseline() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.0);
+        Random random = new Random(42);
+        // One in five served from the cache in 1-2ms, the rest queries taking 15-25ms
+        LongSupplier mixed = () -> TimeUnit.MICROSECONDS.toNanos(random.nextDouble() < 0.2
+                ? 1_000 + random.nextInt(1_000)
+                : 15_000 + random.nextInt(10_000));
+
+        runSaturated(limit, 2_000, mixed);
+        int unloaded = limit.limit();
+        // A single lowest sample as baseline would make every query look queued and end near minLimit
+        assertThat(unloaded).isGreaterThan(30);
+
+        // The same mix five times slower: now requests are waiting
+        runSaturated(limit, 200, () -> 5 * mixed.getAsLong());
+        assertThat(limit.limit()).isLessThan(unloaded / 2);
+    }
+
+    @Test
+    void failures_lowerTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.0);
+
+        assertThat(limit.tryAcquire(true)).isTrue();
+        limit.onDropped();
+
+        assertThat(limit.limit()).isEqualTo(18);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    private static void runSaturated(AdaptiveConcurrencyLimit limit, int samples, long latencyNanos) {
+        runSaturated(limit, samples, () -> latencyNanos);
+    }
+
+    // Fills the limit, then completes one request at a time with the given latency
+    private static void runSaturated(AdaptiveConcurrencyLimit limit, int samples, LongSupplier latencyNanos) {
+        for (int i = 0; i < samples; i++) {
+            while (limit.tryAcquire(true)) {
+                // fill up
+            }
+            limit.onSuccess(latencyNanos.getAsLong());
+        }
+        while (limit.inFlight() > 0) {
+            limit.onIgnore();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package io.ngrabner.task_tracker_api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.ngrabner.task_tracker_api.auth.CurrentUser;
+import io.ngrabner.task_tracker_api.domain.User;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.security.ApiQuotaFilter;
+import io.ngrabner.task_tracker_api.security.QuotaRejections;
+import io.ngrabner.task_tracker_api.security.TokenBucketRateLimiter;
+import io.ngrabner.task_tracker_api.security.UserBulkhead;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.security.api-quota.window-seconds=60",
+        "app.security.api-quota.max-requests=3",
+        "app.security.admin-emails=ops@example.com"
+})
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+class ApiQuotaFilterTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private QuotaRejections quotaRejections;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private Cookie alice;
+    private Cookie bob;
+    private Long aliceId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        aliceId = saveUser("alice");
+        alice = new Cookie("tt_access", jwtService.createToken(aliceId, "alice@example.com"));
+        bob = new Cookie("tt_access", jwtService.createToken(saveUser("bob"), "bob@example.com"));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void requestsOverTheQuota_get429WithRetryAfter() throws Exception {
+        double rejected = meterRegistry.get("api.quota.rejections").tag("reason", "rate").counter().count();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/tasks").cookie(alice)).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/tasks").cookie(alice))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "20"))
+                .andExpect(jsonPath("$.error").value("RATE_LIMITED"));
+
+        // Quotas are per user
+        mockMvc.perform(get("/api/tasks").cookie(bob)).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("api.quota.rejections").tag("reason", "rate").counter().count())
+                .isEqualTo(rejected + 1);
+        assertThat(quotaRejections.topUsers())
+                .contains(new QuotaRejections.UserRejections(aliceId, 1, 0));
+    }
+
+    @Test
+    void rejectedUsers_areListedToAdminsOnly() throws Exception {
+        quotaRejections.record(aliceId, QuotaRejections.Reason.RATE);
+        Cookie ops = new Cookie("tt_access", jwtService.createToken(aliceId + 1000, "ops@example.com"));
+
+        mockMvc.perform(get("/actuator/quotas").cookie(bob))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/quotas").cookie(ops))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.userId == " + aliceId + ")]").exists());
+    }
+
+    @Test
+    void otherEndpoints_areNotCounted() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/me").cookie(alice)).andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/tasks").cookie(alice)).andExpect(status().isOk());
+    }
+
+    @Test
+    void requestsOverTheConcurrencyCap_get429_untilOneFinishes() throws Exception {
+        ApiQuotaFilter filter = new ApiQuotaFilter(
+                new TokenBucketRateLimiter(Duration.ofMinutes(1), 1_000, 100), new UserBulkhead(1), quotaRejections);
+        CountDownLatch inChain = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<MockHttpServletResponse> slow = CompletableFuture.supplyAsync(() -> {
+            authenticate(aliceId);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            try {
+                filter.doFilter(tasksRequest(), response, (req, res) -> {
+                    inChain.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+            return response;
+        });
+        assertThat(inChain.await(10, TimeUnit.SECONDS)).isTrue();
+
+        authenticate(aliceId);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(tasksRequest(), rejected, (req, res) -> {});
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+
+        release.countDown();
+        assertThat(slow.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(tasksRequest(), admitted, (req, res) -> {});
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(quotaRejections.topUsers())
+                .contains(new QuotaRejections.UserRejections(aliceId, 0, 1));
+    }
+
+    private Long saveUser(String name) {
+        User user = new User();
+        user.setGoogleSub("google-" + name);
+        user.setEmail(name + "@example.com");
+        return userRepository.save(user).getId();
+    }
+
+    private static void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new CurrentUser(userId, "alice@example.com"), null, List.of()));
+    }
+
+    private static MockHttpServletRequest tasksRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setRequestURI("/api/tasks");
+        return request;
+    }
+}
@@ -0,0 +1,125 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.auth.JwksSource;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Logs in against LocalGoogleIdp instead of Google, so no network is needed
+@SpringBootTest(properties = {
+        "app.google.client-id=" + AuthControllerTest.CLIENT_ID,
+        "app.google.jwks-min-fetch-interval=0s",
+        "app.security.auth-rate-limit.max-requests=1000"
+})
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+class AuthControllerTest {
+
+    static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+
+    private static final LocalGoogleIdp IDP = new LocalGoogleIdp();
+
+    @TestBean
+    private JwksSource jwksSource;
+
+    static JwksSource jwksSource() {
+        return IDP;
+    }
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void google_createsUserAndSetsCookie_fetchingKeysOnce() throws Exception {
+        int fetches = IDP.fetches();
+
+        for (int i = 0; i < 3; i++) {
+            login(IDP.idToken(CLIENT_ID, "sub-1", "ada@example.com", "Ada"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value("ada@example.com"))
+                    .andExpect(header().string("Set-Cookie", containsString("HttpOnly")));
+        }
+
+        assertThat(userRepository.findByGoogleSub("sub-1")).isPresent();
+        assertThat(IDP.fetches() - fetches).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void google_returns401_forAnotherClientsToken() throws Exception {
+        login(IDP.idToken("someone-else", "sub-2", "bob@example.com", "Bob"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void google_returns401_forTokenSignedByUnknownKey() throws Exception {
+        String forged = new LocalGoogleIdp().idToken(CLIENT_ID, "sub-3", "eve@example.com", "Eve");
+
+        login(forged).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void google_refetchesKeys_afterRotation() throws Exception {
+        login(IDP.idToken(CLIENT_ID, "sub-4", "cy@example.com", "Cy")).andExpect(status().isOk());
+        int fetches = IDP.fetches();
+
+        IDP.rotate();
+
+        login(IDP.idToken(CLIENT_ID, "sub-4", "cy@example.com", "Cy")).andExpect(status().isOk());
+        assertThat(IDP.fetches()).isEqualTo(fetches + 1);
+    }
+
+    @Test
+    void google_writesUserRow_onlyWhenProfileChanged() throws Exception {
+        login(IDP.idToken(CLIENT_ID, "sub-5", "dee@example.com", "Dee")).andExpect(status().isOk());
+        Long userId = userRepository.findByGoogleSub("sub-5").orElseThrow().getId();
+        String version = rowVersion("sub-5");
+
+        // Unchanged profile: same id, and the row is not rewritten (xmin stays)
+        login(IDP.idToken(CLIENT_ID, "sub-5", "dee@example.com", "Dee"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId));
+        assertThat(rowVersion("sub-5")).isEqualTo(version);
+
+        login(IDP.idToken(CLIENT_ID, "sub-5", "dee@example.com", "Dee Doe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId))
+                .andExpect(jsonPath("$.name").value("Dee Doe"));
+        assertThat(rowVersion("sub-5")).isNotEqualTo(version);
+        assertThat(userRepository.findByGoogleSub("sub-5").orElseThrow().getName()).isEqualTo("Dee Doe");
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    private String rowVersion(String googleSub) {
+        return jdbcTemplate.queryForObject("SELECT xmin::text FROM users WHERE google_sub = ?", String.class,
+                googleSub);
+    }
+
+    private ResultActions login(String idToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/google")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"idToken\":\"" + idToken + "\"}"));
+    }
+}
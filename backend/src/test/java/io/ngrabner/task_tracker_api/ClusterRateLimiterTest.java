@@ -0,0 +1,87 @@
+package io.ngrabner.task_tracker_api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.ngrabner.task_tracker_api.security.RateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two app instances (this test's context and a second one started here) on one database
+@SpringBootTest(properties = {
+        ClusterRateLimiterTest.STORE,
+        ClusterRateLimiterTest.MAX_REQUESTS,
+        ClusterRateLimiterTest.WINDOW,
+        ClusterRateLimiterTest.LOCAL_BATCH
+})
+@Import(TestcontainersConfiguration.class)
+class ClusterRateLimiterTest {
+
+    static final String STORE = "app.security.auth-rate-limit.store=postgres";
+    static final String MAX_REQUESTS = "app.security.auth-rate-limit.max-requests=10";
+    static final String WINDOW = "app.security.auth-rate-limit.window-seconds=3600";
+    static final String LOCAL_BATCH = "app.security.auth-rate-limit.local-batch=3";
+
+    @Autowired private RateLimiter authRateLimiter;
+    @Autowired private DataSource dataSource;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private ConfigurableApplicationContext secondInstance;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets");
+        HikariDataSource db = (HikariDataSource) dataSource;
+        // Command-line arguments, so they win over application.yml like this context's properties do
+        secondInstance = new SpringApplicationBuilder(TaskTrackerApiApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + db.getJdbcUrl(),
+                "--spring.datasource.username=" + db.getUsername(),
+                "--spring.datasource.password=" + db.getPassword(),
+                "--" + STORE, "--" + MAX_REQUESTS, "--" + WINDOW, "--" + LOCAL_BATCH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        secondInstance.close();
+    }
+
+    @Test
+    void combinedLimit_holdsAcrossInstances() {
+        RateLimiter other = secondInstance.getBean("authRateLimiter", RateLimiter.class);
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            RateLimiter instance = i % 2 == 0 ? authRateLimiter : other;
+            if (instance.allow("198.51.100.7")) {
+                allowed++;
+            }
+        }
+
+        // Ten per window in total, not ten per instance
+        assertThat(allowed).isEqualTo(10);
+        assertThat(authRateLimiter.tryAcquire("198.51.100.7")).isPositive();
+        assertThat(other.allow("198.51.100.8")).isTrue();
+    }
+
+    @Test
+    void permitsAreClaimedInBlocks() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(authRateLimiter.allow("198.51.100.9")).isTrue();
+        }
+
+        // Three requests, one claim of three permits: the bucket moved by 3 intervals of 6 minutes
+        Long ahead = jdbcTemplate.queryForObject(
+                "SELECT full_at_us - seen_at_us FROM rate_limit_buckets WHERE key = 'auth:198.51.100.9'", Long.class);
+        assertThat(ahead).isEqualTo(3 * 360_000_000L);
+    }
+}
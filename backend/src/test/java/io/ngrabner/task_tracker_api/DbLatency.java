@@ -0,0 +1,75 @@
+package io.ngrabner.task_tracker_api;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Makes the database slow for load tests: while delayMillis is set, every statement execution
+ * sleeps that long first, holding its pooled connection like a slow query would.
+ * Shared by every context in the JVM that imports it.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class DbLatency {
+
+    static volatile long delayMillis;
+
+    @Bean
+    static BeanPostProcessor slowStatements() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return slow(super.getConnection());
+                        }
+                    };
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Connection slow(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "prepareStatement" -> slow(result, PreparedStatement.class);
+                        case "prepareCall" -> slow(result, CallableStatement.class);
+                        case "createStatement" -> slow(result, Statement.class);
+                        default -> result;
+                    };
+                });
+    }
+
+    private static Object slow(Object statement, Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute") && delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
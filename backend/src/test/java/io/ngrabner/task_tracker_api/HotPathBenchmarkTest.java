@@ -0,0 +1,281 @@
+package io.ngrabner.task_tracker_api;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.jsonwebtoken.Claims;
+import io.ngrabner.task_tracker_api.config.RequestLoggingFilter;
+import io.ngrabner.task_tracker_api.domain.Task;
+import io.ngrabner.task_tracker_api.security.TokenBucketRateLimiter;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import io.ngrabner.task_tracker_api.service.TaskService;
+import io.ngrabner.task_tracker_api.web.dto.PagedResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH: the per-request work that does not touch the database, single-threaded and with one thread
+ * per core. Entity to TaskResponse mapping, Jackson serialization of a 20- and a 100-task page,
+ * JWT creation and verification, the API rate limiter on one hot key (CAS contention) and the
+ * cost of RequestLoggingFilter (logging through the app's pattern into a null stream) over a bare
+ * filter chain.
+ *
+ * Results are compared with the committed baseline (src/test/resources/benchmarks/hot-paths.baseline).
+ * Bytes allocated per op are stable across machines and fail the test when they grow more than
+ * 10%; times are only reported, since they depend on the machine. After an intended change,
+ * rewrite the baseline with {@code -Dbenchmark.updateBaseline=true}.
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HotPathBenchmarkTest {
+
+    private static final Path BASELINE = Path.of("src/test/resources/benchmarks/hot-paths.baseline");
+    private static final String ALLOC = "gc.alloc.rate.norm";
+    private static final double MAX_ALLOC_GROWTH = 1.10;
+    // Absorbs noise on benchmarks that allocate next to nothing
+    private static final double ALLOC_SLACK_BYTES = 16;
+    private static final int TOKENS = 1_000;
+
+    @State(Scope.Benchmark)
+    public static class Fixtures {
+        Task task;
+        ObjectWriter pageWriter;
+        PagedResponse<TaskResponse> page20;
+        PagedResponse<TaskResponse> page100;
+        JwtService jwtService;
+        String[] tokens;
+        TokenBucketRateLimiter rateLimiter;
+        RequestLoggingFilter loggingFilter;
+        FilterChain bareChain;
+
+        @Setup
+        public void setUp() {
+            task = newTask(42L);
+            pageWriter = JsonMapper.builder().build().writer();
+            page20 = page(20);
+            page100 = page(100);
+
+            jwtService = new JwtService("benchmark-secret-benchmark-secret-0123456789", 15);
+            tokens = new String[TOKENS];
+            for (int i = 0; i < TOKENS; i++) {
+                tokens[i] = jwtService.createToken((long) i, "user" + i + "@example.com");
+            }
+            rateLimiter = new TokenBucketRateLimiter(Duration.ofSeconds(1), 1_000_000_000, 100_000);
+
+            logRequestsToNullStream();
+            loggingFilter = new RequestLoggingFilter();
+            bareChain = (request, response) -> ((MockHttpServletResponse) response).setStatus(200);
+        }
+
+        String nextToken() {
+            return tokens[ThreadLocalRandom.current().nextInt(TOKENS)];
+        }
+    }
+
+    // One per benchmark thread: the filter runs on the thread's own request, as in Tomcat
+    @State(Scope.Thread)
+    public static class Exchange {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/api/tasks");
+            request.setQueryString("query=invoice&page=0&size=20");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public TaskResponse toResponse(Fixtures fixtures) {
+        return TaskService.toResponse(fixtures.task);
+    }
+
+    @Benchmark
+    public byte[] serializePage20(Fixtures fixtures) {
+        return fixtures.pageWriter.writeValueAsBytes(fixtures.page20);
+    }
+
+    @Benchmark
+    public byte[] serializePage100(Fixtures fixtures) {
+        return fixtures.pageWriter.writeValueAsBytes(fixtures.page100);
+    }
+
+    @Benchmark
+    public String jwtCreateToken(Fixtures fixtures) {
+        return fixtures.jwtService.createToken(42L, "user42@example.com");
+    }
+
+    @Benchmark
+    public Claims jwtParseClaims(Fixtures fixtures) {
+        return fixtures.jwtService.parseClaims(fixtures.nextToken());
+    }
+
+    @Benchmark
+    public boolean rateLimiterHotKey(Fixtures fixtures) {
+        return fixtures.rateLimiter.allow("user:42");
+    }
+
+    @Benchmark
+    public int bareFilterChain(Fixtures fixtures, Exchange exchange) throws Exception {
+        fixtures.bareChain.doFilter(exchange.request, exchange.response);
+        return exchange.response.getStatus();
+    }
+
+    @Benchmark
+    public int requestLoggingFilter(Fixtures fixtures, Exchange exchange) throws Exception {
+        fixtures.loggingFilter.doFilter(exchange.request, exchange.response, fixtures.bareChain);
+        return exchange.response.getStatus();
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+        Map<String, double[]> measured = new LinkedHashMap<>();
+        for (int threads : new int[] { 1, cores }) {
+            System.out.printf("%n%d thread(s)%n", threads);
+            Collection<RunResult> results = new Runner(new OptionsBuilder()
+                    .include(HotPathBenchmarkTest.class.getName() + "\\.")
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .addProfiler(GCProfiler.class)
+                    .build()).run();
+            assertThat(results).hasSize(8);
+            for (RunResult result : results) {
+                String name = result.getParams().getBenchmark().replaceAll(".*\\.", "");
+                Result<?> alloc = result.getSecondaryResults().get(ALLOC);
+                measured.put(name + (threads == 1 ? "" : "@cores"),
+                        new double[] { result.getPrimaryResult().getScore(), alloc.getScore() });
+            }
+        }
+
+        if (Boolean.getBoolean("benchmark.updateBaseline")) {
+            writeBaseline(measured, cores);
+            return;
+        }
+        Map<String, double[]> baseline = readBaseline();
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%n%-28s %12s %12s %12s %12s%n", "benchmark", "ns/op", "baseline", "B/op", "baseline");
+        measured.forEach((name, now) -> {
+            double[] then = baseline.get(name);
+            System.out.printf("%-28s %12.1f %12s %12.1f %12s%n", name, now[0],
+                    then == null ? "-" : String.format("%.1f", then[0]), now[1],
+                    then == null ? "-" : String.format("%.1f", then[1]));
+            if (then != null && now[1] > then[1] * MAX_ALLOC_GROWTH + ALLOC_SLACK_BYTES) {
+                regressions.add(String.format("%s allocates %.0f B/op, baseline %.0f", name, now[1], then[1]));
+            }
+        });
+        assertThat(regressions).as("allocation regressions against " + BASELINE).isEmpty();
+    }
+
+    private static Map<String, double[]> readBaseline() throws IOException {
+        Map<String, double[]> baseline = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(BASELINE)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.trim().split("\\s+");
+            baseline.put(fields[0], new double[] { Double.parseDouble(fields[1]), Double.parseDouble(fields[2]) });
+        }
+        return baseline;
+    }
+
+    private static void writeBaseline(Map<String, double[]> measured, int cores) throws IOException {
+        StringBuilder out = new StringBuilder()
+                .append("# HotPathBenchmarkTest baseline: benchmark, ns/op, bytes allocated/op (-prof gc)\n")
+                .append("# ").append(System.getProperty("java.vm.name")).append(' ')
+                .append(System.getProperty("java.version")).append(", ")
+                .append(Runtime.getRuntime().availableProcessors()).append(" core(s); @cores = ").append(cores)
+                .append(" threads\n");
+        measured.forEach((name, now) -> out.append(String.format("%-28s %12.1f %12.1f%n", name, now[0], now[1])));
+        Files.createDirectories(BASELINE.getParent());
+        Files.writeString(BASELINE, out);
+    }
+
+    private static Task newTask(long id) {
+        Task task = new Task();
+        ReflectionTestUtils.setField(task, "id", id);
+        ReflectionTestUtils.setField(task, "version", 3L);
+        ReflectionTestUtils.setField(task, "createdAt", Instant.parse("2026-01-05T09:30:00Z"));
+        ReflectionTestUtils.setField(task, "updatedAt", Instant.parse("2026-01-06T14:00:00Z"));
+        task.setUserId(7L);
+        task.setTitle("Send invoice #" + id + " to the accounting team");
+        task.setDescription("Attach the signed timesheet and the travel receipts for January");
+        task.setStatus("IN_PROGRESS");
+        task.setPriority("HIGH");
+        task.setDueAt(Instant.parse("2026-02-01T17:00:00Z"));
+        return task;
+    }
+
+    private static PagedResponse<TaskResponse> page(int size) {
+        List<TaskResponse> content = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            content.add(TaskService.toResponse(newTask(1_000L + i)));
+        }
+        return new PagedResponse<>(content, 0, size, 1_234L, (1_234 + size - 1) / size, true, "exact");
+    }
+
+    // RequestLoggingFilter's INFO line formatted with the app's console pattern, written nowhere
+    private static void logRequestsToNullStream() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss.SSS} [%X{traceId:-}] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+}
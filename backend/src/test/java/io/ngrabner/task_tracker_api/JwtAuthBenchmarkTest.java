@@ -0,0 +1,104 @@
+package io.ngrabner.task_tracker_api;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.ngrabner.task_tracker_api.auth.CurrentUser;
+import io.ngrabner.task_tracker_api.auth.VerifiedTokenCache;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH: authenticating a request's JWT cookie three ways, single-threaded and with one thread
+ * per core: a parser built per call (the old JwtService), the shared parser (cold path, what a
+ * cache miss costs) and a VerifiedTokenCache hit. Reports ns/op and bytes allocated per op.
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthBenchmarkTest {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    // Distinct live tokens, so the cache is not just one hot key
+    private static final int TOKENS = 1_000;
+
+    @State(Scope.Benchmark)
+    public static class Tokens {
+        SecretKey key;
+        JwtService jwtService;
+        VerifiedTokenCache tokenCache;
+        String[] tokens;
+
+        @Setup
+        public void setUp() {
+            key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+            jwtService = new JwtService(SECRET, 15);
+            tokenCache = new VerifiedTokenCache(jwtService, 10_000);
+            tokens = new String[TOKENS];
+            for (int i = 0; i < TOKENS; i++) {
+                tokens[i] = jwtService.createToken((long) i, "user" + i + "@example.com");
+                tokenCache.authenticate(tokens[i]);
+            }
+        }
+
+        String next() {
+            return tokens[ThreadLocalRandom.current().nextInt(TOKENS)];
+        }
+    }
+
+    @Benchmark
+    public CurrentUser parserPerCall(Tokens state) {
+        Claims claims = Jwts.parser().verifyWith(state.key).build().parseSignedClaims(state.next()).getPayload();
+        return new CurrentUser(Long.valueOf(claims.getSubject()), claims.get("email", String.class));
+    }
+
+    @Benchmark
+    public CurrentUser sharedParser(Tokens state) {
+        Claims claims = state.jwtService.parseClaims(state.next());
+        return new CurrentUser(Long.valueOf(claims.getSubject()), claims.get("email", String.class));
+    }
+
+    @Benchmark
+    public CurrentUser cachedLookup(Tokens state) {
+        return state.tokenCache.authenticate(state.next());
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+        for (int threads : new int[] { 1, cores }) {
+            System.out.printf("%n%d thread(s)%n", threads);
+            var results = new Runner(new OptionsBuilder()
+                    .include(JwtAuthBenchmarkTest.class.getName() + "\\.")
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .addProfiler(GCProfiler.class)
+                    .build()).run();
+            assertThat(results).hasSize(3);
+        }
+    }
+}
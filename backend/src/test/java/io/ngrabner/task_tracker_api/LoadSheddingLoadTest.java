@@ -0,0 +1,215 @@
+package io.ngrabner.task_tracker_api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.security.AdaptiveConcurrencyLimit;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Closed-loop load on GET /api/tasks with every SQL statement delayed, against an instance with
+ * the adaptive concurrency limit and one without (started here on the same database). Without
+ * the limit, requests queue for pool connections and every one of them waits; with it, the
+ * excess gets 503 and the admitted requests keep close to their unloaded latency.
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        LoadSheddingLoadTest.NO_QUOTA,
+        LoadSheddingLoadTest.NO_READ_CACHE,
+        LoadSheddingLoadTest.QUIET
+})
+@Import({ TestcontainersConfiguration.class, DbLatency.class })
+class LoadSheddingLoadTest {
+
+    // Clients re-request far faster than the per-user quota allows
+    static final String NO_QUOTA = "app.security.api-quota.max-requests=1000000000";
+    // Every request goes to the database
+    static final String NO_READ_CACHE = "app.tasks.read-cache.ttl=0s";
+    // A log line per request costs more CPU than the requests themselves on a small machine
+    static final String QUIET = "logging.level.io.ngrabner.task_tracker_api.config.RequestLoggingFilter=WARN";
+
+    private static final long DB_DELAY_MILLIS = 25;
+    private static final int CLIENTS = 100;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+
+    private record Result(double okPerSecond, double shedPerSecond, double p50, double p99, double max) {}
+
+    @Autowired private WebServerApplicationContext context;
+    @Autowired private AdaptiveConcurrencyLimit limit;
+    @Autowired private DataSource dataSource;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private ConfigurableApplicationContext unlimited;
+    // One user per client: concurrent loads of the same read-cache key wait for each other
+    private final List<String> cookies = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DbLatency.delayMillis = 0;
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+
+        List<Long> userIds = jdbcTemplate.queryForList("""
+                INSERT INTO users (google_sub, email)
+                SELECT 'google-bench-load-' || g, 'bench-load-' || g || '@example.com'
+                FROM generate_series(1, ?) AS g
+                RETURNING id
+                """, Long.class, CLIENTS);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (user_id, title, status, priority, created_at, updated_at)
+                SELECT u.id, 'Task ' || g, 'TODO', 'MEDIUM', now() - g * interval '1 second', now()
+                FROM users u, generate_series(1, 50) AS g
+                """);
+        cookies.clear();
+        for (Long userId : userIds) {
+            cookies.add("tt_access=" + jwtService.createToken(userId, "bench-load@example.com"));
+        }
+
+        HikariDataSource db = dataSource.unwrap(HikariDataSource.class);
+        // Command-line arguments, so they win over application.yml like this context's properties do
+        unlimited = new SpringApplicationBuilder(TaskTrackerApiApplication.class, DbLatency.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + db.getJdbcUrl(),
+                "--spring.datasource.username=" + db.getUsername(),
+                "--spring.datasource.password=" + db.getPassword(),
+                "--app.load-shedding.enabled=false",
+                "--" + NO_QUOTA, "--" + NO_READ_CACHE, "--" + QUIET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DbLatency.delayMillis = 0;
+        unlimited.close();
+    }
+
+    @Test
+    void p99_staysBounded_whenTheDatabaseSlowsDown() throws Exception {
+        int limitedPort = context.getWebServer().getPort();
+        int unlimitedPort = ((WebServerApplicationContext) unlimited).getWebServer().getPort();
+        DbLatency.delayMillis = DB_DELAY_MILLIS;
+
+        Result unloaded = run(limitedPort, 1);
+        Result limited = run(limitedPort, CLIENTS);
+        int limitAfter = limit.limit();
+        Result queued = run(unlimitedPort, CLIENTS);
+
+        System.out.printf("%n%d ms per SQL statement, %d clients%n", DB_DELAY_MILLIS, CLIENTS);
+        System.out.printf("%-26s %8s %8s %8s %8s %8s%n", "instance", "ok/s", "503/s", "p50 ms", "p99 ms", "max ms");
+        print("1 client", unloaded);
+        print("adaptive limit (" + limitAfter + ")", limited);
+        print("no limit", queued);
+
+        assertThat(limited.shedPerSecond()).isPositive();
+        assertThat(queued.shedPerSecond()).isZero();
+        // Admitted requests wait a few queue slots at most; without the limit they wait behind every client
+        assertThat(limited.p99()).isLessThan(5 * unloaded.p99());
+        assertThat(limited.p99()).isLessThan(queued.p99() / 2);
+    }
+
+    private Result run(int port, int clients) throws Exception {
+        List<HttpRequest> requests = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?size=20"))
+                    .header("Cookie", cookies.get(i))
+                    .build());
+        }
+        drive(requests, WARMUP, null, null);
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong shed = new AtomicLong();
+        drive(requests, MEASURE, latencies, shed);
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double seconds = MEASURE.toMillis() / 1000.0;
+        return new Result(sorted.size() / seconds, shed.get() / seconds,
+                millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 1.0));
+    }
+
+    // Each client sends its next request as soon as the last one answers; after a 503 it waits
+    // out Retry-After (jittered, so shed clients do not come back in one wave)
+    private void drive(List<HttpRequest> requests, Duration duration, List<Long> latencies, AtomicLong shed)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(requests.size());
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (HttpRequest request : requests) {
+                running.add(pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - start;
+                        if (response.statusCode() == 503) {
+                            if (shed != null) {
+                                shed.incrementAndGet();
+                            }
+                            long retryAfterMillis = 1000 * Long.parseLong(response.headers().firstValue("Retry-After").orElse("1"));
+                            Thread.sleep((long) (retryAfterMillis * (0.5 + 0.5 * ThreadLocalRandom.current().nextDouble())));
+                        } else {
+                            assertThat(response.statusCode()).isEqualTo(200);
+                            if (latencies != null) {
+                                latencies.add(elapsed);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(quantile * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static void print(String name, Result r) {
+        System.out.printf("%-26s %8.0f %8.0f %8.1f %8.1f %8.1f%n",
+                name, r.okPerSecond(), r.shedPerSecond(), r.p50(), r.p99(), r.max());
+    }
+}
@@ -0,0 +1,75 @@
+package io.ngrabner.task_tracker_api;
+
+import io.jsonwebtoken.Jwts;
+import io.ngrabner.task_tracker_api.auth.JwksSource;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline stand-in for Google: publishes a JWKS with one RSA key and signs ID tokens with it.
+ * rotate() switches to a new key, the way Google rotates its keys.
+ */
+class LocalGoogleIdp implements JwksSource {
+
+    static final String ISSUER = "https://accounts.google.com";
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile KeyPair keyPair;
+    private volatile String keyId;
+    private int generation;
+
+    LocalGoogleIdp() {
+        rotate();
+    }
+
+    synchronized void rotate() {
+        keyPair = Jwts.SIG.RS256.keyPair().build();
+        keyId = "local-" + (++generation);
+    }
+
+    int fetches() {
+        return fetches.get();
+    }
+
+    String idToken(String audience, String sub, String email, String name) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .issuer(ISSUER)
+                .audience().add(audience).and()
+                .subject(sub)
+                .claim("email", email)
+                .claim("name", name)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    @Override
+    public JwksDocument fetch() {
+        fetches.incrementAndGet();
+        RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+        String json = """
+                {"keys":[{"kty":"RSA","alg":"RS256","use":"sig","kid":"%s","n":"%s","e":"%s"}]}
+                """.formatted(keyId, base64Url(key.getModulus()), base64Url(key.getPublicExponent()));
+        return new JwksDocument(json, Duration.ofHours(6));
+    }
+
+    // JWK integers are unsigned big-endian, without BigInteger's sign byte
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
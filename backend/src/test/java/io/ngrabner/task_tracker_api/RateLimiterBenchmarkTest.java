@@ -0,0 +1,86 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.security.TokenBucketRateLimiter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH: TokenBucketRateLimiter under contention, single-threaded and with one thread per core.
+ * hotKeyAdmitted: every thread moves the same bucket (CAS contention); hotKeyRejected: the
+ * same bucket, exhausted (read-only path); scan: a new key per call, as with spoofed
+ * X-Forwarded-For values (insert plus eviction at the key cap).
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmarkTest {
+
+    @State(Scope.Benchmark)
+    public static class Limiters {
+        TokenBucketRateLimiter unlimited;
+        TokenBucketRateLimiter exhausted;
+        TokenBucketRateLimiter bounded;
+
+        @Setup
+        public void setUp() {
+            unlimited = new TokenBucketRateLimiter(Duration.ofSeconds(1), 1_000_000_000, 100_000);
+            exhausted = new TokenBucketRateLimiter(Duration.ofHours(1), 6, 100_000);
+            while (exhausted.allow("203.0.113.7")) {
+                // drain the bucket
+            }
+            bounded = new TokenBucketRateLimiter(Duration.ofMinutes(1), 6, 100_000);
+        }
+    }
+
+    @Benchmark
+    public boolean hotKeyAdmitted(Limiters limiters) {
+        return limiters.unlimited.allow("203.0.113.7");
+    }
+
+    @Benchmark
+    public boolean hotKeyRejected(Limiters limiters) {
+        return limiters.exhausted.allow("203.0.113.7");
+    }
+
+    @Benchmark
+    public boolean scan(Limiters limiters) {
+        return limiters.bounded.allow(Long.toHexString(ThreadLocalRandom.current().nextLong()));
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+        for (int threads : new int[] { 1, cores }) {
+            System.out.printf("%n%d thread(s)%n", threads);
+            var results = new Runner(new OptionsBuilder()
+                    .include(RateLimiterBenchmarkTest.class.getName() + "\\.")
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .addProfiler(GCProfiler.class)
+                    .build()).run();
+            assertThat(results).hasSize(3);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load on the task API: seeds users x tasks, signs every client in with its own users'
+ * JWT cookies, then replays a mix of searches, creates, updates and deletes over HTTP for a fixed
+ * time. Reports successful requests per second and p50/p99/p99.9/max per operation from HDR histograms, writes each
+ * histogram's percentile distribution to target/load-test/ (plottable .hgrm files), and fails
+ * when throughput, tail latency or the error rate cross the configured limits.
+ *
+ * Load shedding stays on, as in production: a 503 is counted as shed rather than timed, and the
+ * client waits out Retry-After. Add -Dapp.load-shedding.enabled=false to measure without it.
+ *
+ * Clients are closed-loop by default. With -Dload.target-rps they send on a fixed schedule
+ * instead, and latency counts from when a request was due, so a stall shows up in every request
+ * it delayed (no coordinated omission).
+ *
+ * Everything is a system property, e.g.
+ * {@code mvn test -Pbenchmark -Dtest=TaskApiLoadTest -Dload.clients=64 -Dload.max-p99-ms=100}:
+ * load.users (64), load.tasks-per-user (1000), load.clients (16), load.target-rps (0: closed loop),
+ * load.warmup (PT5S), load.duration (PT20S), load.min-rps (50), load.max-p99-ms (500),
+ * load.max-p999-ms (2000), load.max-error-rate (0.01, non-2xx other than 503), load.max-shed-rate (0.05).
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        TaskApiLoadTest.NO_QUOTA,
+        TaskApiLoadTest.QUIET
+})
+@Import(TestcontainersConfiguration.class)
+class TaskApiLoadTest {
+
+    // Each client stands in for many users; the per-user quota would cap it at 10 requests/s
+    static final String NO_QUOTA = "app.security.api-quota.max-requests=1000000000";
+    // A log line per request costs more CPU than the requests themselves on a small machine
+    static final String QUIET = "logging.level.io.ngrabner.task_tracker_api.config.RequestLoggingFilter=WARN";
+
+    private static final int USERS = Integer.getInteger("load.users", 64);
+    private static final int TASKS_PER_USER = Integer.getInteger("load.tasks-per-user", 1000);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 16);
+    private static final int TARGET_RPS = Integer.getInteger("load.target-rps", 0);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    private static final Duration MEASURE = Duration.parse(System.getProperty("load.duration", "PT20S"));
+    private static final double MIN_RPS = Double.parseDouble(System.getProperty("load.min-rps", "50"));
+    private static final double MAX_P99_MS = Double.parseDouble(System.getProperty("load.max-p99-ms", "500"));
+    private static final double MAX_P999_MS = Double.parseDouble(System.getProperty("load.max-p999-ms", "2000"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    private static final double MAX_SHED_RATE = Double.parseDouble(System.getProperty("load.max-shed-rate", "0.05"));
+
+    // Titles and descriptions are drawn from these, so every search term has matches
+    private static final String[] WORDS = {
+            "invoice", "meeting", "report", "budget", "review", "deploy", "customer", "release",
+            "backup", "contract", "roadmap", "hiring", "travel", "audit", "migration", "training"
+    };
+    private static final Pattern CREATED_ID = Pattern.compile("\"id\":(\\d+)");
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    enum Operation {
+        // Percent of the mix
+        SEARCH(70), CREATE(15), UPDATE(10), DELETE(5);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick() {
+            int roll = ThreadLocalRandom.current().nextInt(100);
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return SEARCH;
+        }
+    }
+
+    // One client's users and the ids of their tasks. Only that client touches them.
+    private record LoadUser(String cookie, List<Long> taskIds) {}
+
+    // What one client saw while measuring
+    private static final class Tally {
+        final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        // Count of each non-2xx status other than 503
+        final Map<Integer, Long> errors = new TreeMap<>();
+        // 503s from load shedding: not in the histograms, the client backs off instead
+        long shed;
+
+        Tally() {
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new Histogram(MAX_LATENCY_NANOS, 3));
+            }
+        }
+    }
+
+    @Autowired private WebServerApplicationContext context;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<LoadUser> users = new ArrayList<>();
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(USERS).as("load.users must be at least load.clients").isGreaterThanOrEqualTo(CLIENTS);
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+
+        long start = System.nanoTime();
+        List<Long> userIds = jdbcTemplate.queryForList("""
+                INSERT INTO users (google_sub, email)
+                SELECT 'google-load-' || g, 'load-' || g || '@example.com'
+                FROM generate_series(1, ?) AS g
+                RETURNING id
+                """, Long.class, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (user_id, title, description, status, priority, created_at, updated_at)
+                SELECT u.id,
+                       initcap(w.words[1 + (g % 16)]) || ' ' || w.words[1 + (g * 7 % 16)] || ' #' || g,
+                       'Follow up on the ' || w.words[1 + (g * 3 % 16)] || ' with the team',
+                       (ARRAY['TODO', 'IN_PROGRESS', 'DONE'])[1 + g % 3],
+                       'MEDIUM',
+                       now() - g * interval '1 minute',
+                       now() - g * interval '1 minute'
+                FROM users u, generate_series(1, ?) AS g, (SELECT ?::text[] AS words) w
+                WHERE u.id = ANY(?)
+                """, TASKS_PER_USER, WORDS, userIds.toArray(Long[]::new));
+        jdbcTemplate.execute("ANALYZE tasks");
+
+        users.clear();
+        for (Long userId : userIds) {
+            users.add(new LoadUser("tt_access=" + jwtService.createToken(userId, "load@example.com"),
+                    new ArrayList<>(jdbcTemplate.queryForList(
+                            "SELECT id FROM tasks WHERE user_id = ?", Long.class, userId))));
+        }
+        baseUrl = "http://localhost:" + context.getWebServer().getPort() + "/api/tasks";
+        System.out.printf("%nSeeded %,d users x %,d tasks in %,d ms%n",
+                USERS, TASKS_PER_USER, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Test
+    void taskApi_meetsThroughputAndLatencyTargets() throws Exception {
+        List<Tally> tallies = drive();
+
+        Map<Operation, Histogram> byOperation = new EnumMap<>(Operation.class);
+        Histogram all = new Histogram(MAX_LATENCY_NANOS, 3);
+        Map<Integer, Long> errors = new TreeMap<>();
+        tallies.forEach(tally -> tally.errors.forEach((status, count) -> errors.merge(status, count, Long::sum)));
+        long errorCount = errors.values().stream().mapToLong(Long::longValue).sum();
+        long shed = tallies.stream().mapToLong(tally -> tally.shed).sum();
+        for (Operation operation : Operation.values()) {
+            Histogram merged = new Histogram(MAX_LATENCY_NANOS, 3);
+            for (Tally tally : tallies) {
+                merged.add(tally.latencies.get(operation));
+            }
+            byOperation.put(operation, merged);
+            all.add(merged);
+        }
+
+        double seconds = MEASURE.toNanos() / 1e9;
+        double rps = (all.getTotalCount() - errorCount) / seconds;
+        double errorRate = all.getTotalCount() == 0 ? 1 : (double) errorCount / all.getTotalCount();
+        double shedRate = (double) shed / Math.max(1, all.getTotalCount() + shed);
+        System.out.printf("%n%d clients (%s), %,d users x %,d tasks, %ds measured%n", CLIENTS,
+                TARGET_RPS > 0 ? TARGET_RPS + " req/s scheduled" : "closed loop", USERS, TASKS_PER_USER,
+                MEASURE.toSeconds());
+        System.out.printf("%-8s %9s %9s %9s %9s %9s %9s%n", "", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        byOperation.forEach((operation, histogram) -> print(operation.name().toLowerCase(), histogram, seconds));
+        print("all", all, seconds);
+        System.out.printf("errors: %,d (%.3f%%) by status %s; shed (503): %,d (%.3f%%)%n",
+                errorCount, 100 * errorRate, errors, shed, 100 * shedRate);
+
+        Path out = Path.of("target", "load-test");
+        Files.createDirectories(out);
+        byOperation.forEach((operation, histogram) -> writeHgrm(out.resolve(operation.name().toLowerCase() + ".hgrm"), histogram));
+        writeHgrm(out.resolve("all.hgrm"), all);
+
+        assertThat(rps).as("req/s (load.min-rps)").isGreaterThanOrEqualTo(MIN_RPS);
+        assertThat(millis(all, 99)).as("p99 ms (load.max-p99-ms)").isLessThanOrEqualTo(MAX_P99_MS);
+        assertThat(millis(all, 99.9)).as("p99.9 ms (load.max-p999-ms)").isLessThanOrEqualTo(MAX_P999_MS);
+        assertThat(errorRate).as("error rate (load.max-error-rate)").isLessThanOrEqualTo(MAX_ERROR_RATE);
+        assertThat(shedRate).as("shed rate (load.max-shed-rate)").isLessThanOrEqualTo(MAX_SHED_RATE);
+    }
+
+    // Warms up, then measures; each client owns every CLIENTS-th user and cycles through them
+    private List<Tally> drive() throws Exception {
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long deadline = measureFrom + MEASURE.toNanos();
+        long intervalNanos = TARGET_RPS > 0 ? TimeUnit.SECONDS.toNanos(CLIENTS) / TARGET_RPS : 0;
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<Tally>> clients = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                List<LoadUser> own = new ArrayList<>();
+                for (int u = c; u < users.size(); u += CLIENTS) {
+                    own.add(users.get(u));
+                }
+                clients.add(pool.submit(() -> {
+                    Tally tally = new Tally();
+                    long due = System.nanoTime();
+                    int next = 0;
+                    while (System.nanoTime() < deadline) {
+                        long now = System.nanoTime();
+                        // Warm-up is closed-loop, so no backlog from the cold start carries over
+                        if (intervalNanos == 0 || now < measureFrom) {
+                            due = now;
+                        } else {
+                            LockSupport.parkNanos(due - now);
+                        }
+                        Operation operation = Operation.pick();
+                        HttpResponse<String> response = send(operation, own.get(next++ % own.size()));
+                        long latency = System.nanoTime() - due;
+                        boolean measured = due >= measureFrom && due < deadline;
+                        int status = response.statusCode();
+                        if (status == 503) {
+                            if (measured) {
+                                tally.shed++;
+                            }
+                            // Waits out Retry-After like a real client, jittered so shed clients do
+                            // not come back in one wave; the schedule restarts afterwards
+                            long retryAfterMillis = 1000 * Long.parseLong(response.headers().firstValue("Retry-After").orElse("1"));
+                            Thread.sleep((long) (retryAfterMillis * (0.5 + 0.5 * ThreadLocalRandom.current().nextDouble())));
+                            due = System.nanoTime();
+                            continue;
+                        }
+                        if (measured) {
+                            tally.latencies.get(operation).recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+                            if (status / 100 != 2) {
+                                tally.errors.merge(status, 1L, Long::sum);
+                            }
+                        }
+                        due += intervalNanos;
+                    }
+                    return tally;
+                }));
+            }
+            List<Tally> tallies = new ArrayList<>();
+            for (Future<Tally> client : clients) {
+                tallies.add(client.get());
+            }
+            return tallies;
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private HttpResponse<String> send(Operation operation, LoadUser user) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder request = HttpRequest.newBuilder().header("Cookie", user.cookie());
+        List<Long> ids = user.taskIds();
+        switch (operation) {
+            case SEARCH -> request.uri(URI.create(baseUrl + "?size=20&query=" + WORDS[random.nextInt(WORDS.length)]));
+            case CREATE -> request.uri(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"New " + WORDS[random.nextInt(WORDS.length)]
+                            + " task\",\"description\":\"Created under load\"}"));
+            case UPDATE -> {
+                if (ids.isEmpty()) {
+                    return send(Operation.CREATE, user);
+                }
+                request.uri(URI.create(baseUrl + "/" + ids.get(random.nextInt(ids.size()))))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"IN_PROGRESS\"}"));
+            }
+            case DELETE -> {
+                if (ids.isEmpty()) {
+                    return send(Operation.CREATE, user);
+                }
+                // Swap-remove: order does not matter, only which ids are still there
+                int index = random.nextInt(ids.size());
+                Long id = ids.get(index);
+                ids.set(index, ids.get(ids.size() - 1));
+                ids.remove(ids.size() - 1);
+                request.uri(URI.create(baseUrl + "/" + id)).DELETE();
+            }
+        }
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (operation == Operation.CREATE && response.statusCode() == 201) {
+            Matcher id = CREATED_ID.matcher(response.body());
+            if (id.find()) {
+                ids.add(Long.valueOf(id.group(1)));
+            }
+        }
+        return response;
+    }
+
+    private static void print(String name, Histogram histogram, double seconds) {
+        System.out.printf("%-8s %,9d %9.0f %9.1f %9.1f %9.1f %9.1f%n", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds, millis(histogram, 50), millis(histogram, 99),
+                millis(histogram, 99.9), histogram.getMaxValue() / 1e6);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    // HdrHistogram's percentile distribution, in milliseconds
+    private static void writeHgrm(Path file, Histogram histogram) {
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(stream, 1e6);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
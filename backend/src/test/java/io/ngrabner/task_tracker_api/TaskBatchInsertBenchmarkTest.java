@@ -0,0 +1,99 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.domain.User;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.TaskService;
+import io.ngrabner.task_tracker_api.web.dto.task.CreateTaskRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput: one createTask call (one transaction, one INSERT) per task vs
+ * createTasks with JDBC batching, at a few request sizes.
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class TaskBatchInsertBenchmarkTest {
+
+    private static final int TASKS = 5_000;
+    private static final int[] BATCH_SIZES = { 10, 100, 500 };
+
+    @Autowired private TaskService taskService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setGoogleSub("google-bench-batch");
+        user.setEmail("bench-batch@example.com");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void insertThroughput_singleVsBatch() {
+        // Warm up both paths
+        for (int i = 0; i < 200; i++) {
+            taskService.createTask(userId, request(i));
+        }
+        taskService.createTasks(userId, requests(500));
+        taskRepository.deleteAllInBatch();
+
+        System.out.printf("%n%,d tasks%n", TASKS);
+        System.out.printf("%-16s %10s %12s%n", "path", "total ms", "tasks/s");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            taskService.createTask(userId, request(i));
+        }
+        report("single", start);
+
+        for (int batchSize : BATCH_SIZES) {
+            List<CreateTaskRequest> batch = requests(batchSize);
+            start = System.nanoTime();
+            for (int created = 0; created < TASKS; created += batchSize) {
+                taskService.createTasks(userId, batch);
+            }
+            report("batch of " + batchSize, start);
+        }
+
+        assertThat(taskRepository.count()).isEqualTo(TASKS * (1L + BATCH_SIZES.length));
+    }
+
+    private static void report(String label, long startNanos) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        System.out.printf("%-16s %10.1f %,12.0f%n", label, millis, TASKS / (millis / 1000.0));
+    }
+
+    private static List<CreateTaskRequest> requests(int count) {
+        List<CreateTaskRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(request(i));
+        }
+        return requests;
+    }
+
+    private static CreateTaskRequest request(int i) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Imported task " + i);
+        request.setDescription("Created by the batch insert benchmark");
+        return request;
+    }
+}
@@ -0,0 +1,136 @@
+package io.ngrabner.task_tracker_api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.ngrabner.task_tracker_api.service.TaskChangeFeed;
+import io.ngrabner.task_tracker_api.service.TaskChangeNotifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskChangeFeedTest {
+
+    private static final int QUEUE_CAPACITY = 4;
+
+    // Records every frame it is sent
+    private static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            frames.add(frame.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    // A client that stopped reading: every write blocks until released
+    private static class StalledEmitter extends RecordingEmitter {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.send(items);
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskChangeFeed feed = new TaskChangeFeed(
+            JsonMapper.builder().build(), meterRegistry, QUEUE_CAPACITY, 3, Duration.ofMinutes(1), 2);
+
+    @Test
+    void publish_reachesEveryStreamOfTheUser_inOrder() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter otherUser = new RecordingEmitter();
+        feed.subscribe(1L, first);
+        feed.subscribe(1L, second);
+        feed.subscribe(2L, otherUser);
+
+        feed.publish(new TaskChangeNotifier.Change(1L, TaskChangeNotifier.CREATED, List.of(7L)));
+        feed.publish(new TaskChangeNotifier.Change(1L, TaskChangeNotifier.DELETED, List.of(7L)));
+
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            assertThat(emitter.frames.poll(5, TimeUnit.SECONDS)).contains("event:ready");
+            assertThat(emitter.frames.poll(5, TimeUnit.SECONDS))
+                    .contains("event:created").contains("{\"type\":\"created\",\"ids\":[7]}");
+            assertThat(emitter.frames.poll(5, TimeUnit.SECONDS)).contains("event:deleted");
+        }
+        assertThat(otherUser.frames.poll(5, TimeUnit.SECONDS)).contains("event:ready");
+        assertThat(otherUser.frames.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void slowStream_isDisconnected_withoutHoldingUpTheOthers() throws Exception {
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        feed.subscribe(1L, stalled);
+        feed.subscribe(1L, healthy);
+
+        assertThat(healthy.frames.poll(5, TimeUnit.SECONDS)).contains("event:ready");
+
+        // The healthy stream keeps up with every update while the other one is stuck on its first write
+        for (int i = 0; i < 3 * QUEUE_CAPACITY; i++) {
+            feed.publish(new TaskChangeNotifier.Change(1L, TaskChangeNotifier.UPDATED, List.of((long) i)));
+            assertThat(healthy.frames.poll(5, TimeUnit.SECONDS)).contains("\"ids\":[" + i + "]");
+        }
+        assertThat(meterRegistry.get("tasks.stream.dropped").counter().count()).isEqualTo(1);
+
+        stalled.release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stalled.completed && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stalled.completed).isTrue();
+        // Only the write that was in progress went out; the backlog was dropped
+        assertThat(stalled.frames).hasSize(1);
+        assertThat(feed.subscribers()).isEqualTo(1);
+        assertThat(healthy.completed).isFalse();
+    }
+
+    @Test
+    void subscribe_rejectsStreamsOverThePerUserCap() {
+        for (int i = 0; i < 3; i++) {
+            feed.subscribe(1L, new RecordingEmitter());
+        }
+
+        assertThatThrownBy(() -> feed.subscribe(1L, new RecordingEmitter()))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("At most 3");
+        feed.subscribe(2L, new RecordingEmitter());
+        assertThat(feed.subscribers()).isEqualTo(4);
+    }
+
+    @Test
+    void heartbeat_goesToIdleStreams() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(1L, emitter);
+        assertThat(emitter.frames.poll(5, TimeUnit.SECONDS)).contains("event:ready");
+
+        feed.heartbeat();
+
+        assertThat(emitter.frames.poll(5, TimeUnit.SECONDS)).isEqualTo(":heartbeat\n\n");
+    }
+}
@@ -0,0 +1,229 @@
+package io.ngrabner.task_tracker_api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import io.ngrabner.task_tracker_api.service.PreconditionFailedException;
+import io.ngrabner.task_tracker_api.service.TaskChangeFeed;
+import io.ngrabner.task_tracker_api.service.TaskService;
+import io.ngrabner.task_tracker_api.web.dto.task.CreateTaskRequest;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskStatus;
+import io.ngrabner.task_tracker_api.web.dto.task.UpdateTaskRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        TaskChangeStreamTest.NO_SHEDDING,
+        TaskChangeStreamTest.NO_CONCURRENCY_CAP
+})
+@Import(TestcontainersConfiguration.class)
+class TaskChangeStreamTest {
+
+    // Thousands of streams open at once; each request returns as soon as its stream is registered
+    static final String NO_SHEDDING = "app.load-shedding.enabled=false";
+    static final String NO_CONCURRENCY_CAP = "app.security.api-quota.max-concurrent=1000";
+
+    private static final int USERS = 200;
+    private static final int STREAMS_PER_USER = 10;
+
+    @Autowired private WebServerApplicationContext context;
+    @Autowired private DataSource dataSource;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private TaskService taskService;
+    @Autowired private TaskChangeFeed feed;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final List<EventStream> open = new ArrayList<>();
+    private List<Long> userIds;
+
+    // Collects the events of one stream as "name data"
+    private static final class EventStream implements Flow.Subscriber<String> {
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+        private String name;
+        private String data = "";
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:")) {
+                name = line.substring("event:".length());
+            } else if (line.startsWith("data:")) {
+                data = line.substring("data:".length());
+            } else if (line.isEmpty() && name != null) {
+                events.add(name + " " + data);
+                name = null;
+                data = "";
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        String next() throws InterruptedException {
+            return events.poll(30, TimeUnit.SECONDS);
+        }
+
+        // Closes the connection
+        void close() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+        userIds = jdbcTemplate.queryForList("""
+                INSERT INTO users (google_sub, email)
+                SELECT 'google-stream-' || g, 'stream-' || g || '@example.com'
+                FROM generate_series(1, ?) AS g
+                RETURNING id
+                """, Long.class, USERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        open.forEach(EventStream::close);
+        open.clear();
+    }
+
+    @Test
+    void stream_carriesTheUsersCommittedChanges_only() throws Exception {
+        Long userId = userIds.get(0);
+        EventStream mine = subscribe(port(), userId);
+        EventStream other = subscribe(port(), userIds.get(1));
+        assertThat(mine.next()).isEqualTo("ready {}");
+        assertThat(other.next()).isEqualTo("ready {}");
+
+        TaskResponse task = taskService.createTask(userId, newTask("Watched"));
+        UpdateTaskRequest update = new UpdateTaskRequest();
+        update.setStatus(TaskStatus.DONE);
+        // Rolled back: nothing is announced
+        assertThatThrownBy(() -> taskService.updateTask(userId, task.getId(), update, 42L))
+                .isInstanceOf(PreconditionFailedException.class);
+        taskService.updateTask(userId, task.getId(), update, null);
+        taskService.deleteTask(userId, task.getId(), null);
+
+        assertThat(mine.next()).isEqualTo("created {\"type\":\"created\",\"ids\":[" + task.getId() + "]}");
+        assertThat(mine.next()).isEqualTo("updated {\"type\":\"updated\",\"ids\":[" + task.getId() + "]}");
+        assertThat(mine.next()).isEqualTo("deleted {\"type\":\"deleted\",\"ids\":[" + task.getId() + "]}");
+        assertThat(other.events.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void stream_receivesChangesMadeOnAnotherNode() throws Exception {
+        HikariDataSource db = dataSource.unwrap(HikariDataSource.class);
+        try (ConfigurableApplicationContext otherNode = new SpringApplicationBuilder(TaskTrackerApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + db.getJdbcUrl(),
+                        "--spring.datasource.username=" + db.getUsername(),
+                        "--spring.datasource.password=" + db.getPassword())) {
+            Long userId = userIds.get(0);
+            int otherPort = ((WebServerApplicationContext) otherNode).getWebServer().getPort();
+            EventStream stream = subscribe(otherPort, userId);
+            assertThat(stream.next()).isEqualTo("ready {}");
+
+            // Written through this node, streamed by the other one
+            taskService.createTasks(userId, List.of(newTask("One"), newTask("Two")));
+
+            assertThat(stream.next()).startsWith("created {\"type\":\"created\",\"ids\":[");
+        }
+    }
+
+    @Test
+    void thousandsOfStreams_eachGetTheirUsersChanges() throws Exception {
+        long start = System.nanoTime();
+        List<List<EventStream>> streams = new ArrayList<>();
+        for (Long userId : userIds) {
+            List<EventStream> userStreams = new ArrayList<>();
+            for (int i = 0; i < STREAMS_PER_USER; i++) {
+                userStreams.add(subscribe(port(), userId));
+            }
+            streams.add(userStreams);
+        }
+        for (List<EventStream> userStreams : streams) {
+            for (EventStream stream : userStreams) {
+                assertThat(stream.next()).isEqualTo("ready {}");
+            }
+        }
+        long connectedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(feed.subscribers()).isGreaterThanOrEqualTo(USERS * STREAMS_PER_USER);
+
+        start = System.nanoTime();
+        List<Long> taskIds = new ArrayList<>();
+        for (Long userId : userIds) {
+            taskIds.add(taskService.createTask(userId, newTask("Fan-out")).getId());
+        }
+        for (int u = 0; u < USERS; u++) {
+            for (EventStream stream : streams.get(u)) {
+                assertThat(stream.next()).isEqualTo("created {\"type\":\"created\",\"ids\":[" + taskIds.get(u) + "]}");
+            }
+        }
+        long deliveredMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.printf("%n%,d streams open in %,d ms; %,d changes delivered to all of them in %,d ms%n",
+                USERS * STREAMS_PER_USER, connectedMillis, USERS, deliveredMillis);
+    }
+
+    private EventStream subscribe(int port, Long userId) {
+        EventStream stream = new EventStream();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/stream"))
+                .header("Cookie", "tt_access=" + jwtService.createToken(userId, "stream@example.com"))
+                .header("Accept", "text/event-stream")
+                .build();
+        http.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(stream));
+        open.add(stream);
+        return stream;
+    }
+
+    private int port() {
+        return context.getWebServer().getPort();
+    }
+
+    private static CreateTaskRequest newTask(String title) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle(title);
+        return request;
+    }
+}
@@ -17,13 +17,19 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "app.security.admin-emails=ops@example.com, Admin@Example.com",
+        "app.search.fuzzy-max-candidates=3"
+})
 @AutoConfigureMockMvc
 @Import(TestcontainersConfiguration.class)
 class TaskControllerTest {
@@ -64,6 +70,20 @@ class TaskControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void actuator_onlyHealthIsPublic_restNeedsAnAdmin() throws Exception {
+        Cookie adminCookie = new Cookie(cookieName, jwtService.createToken(userId, "admin@example.com"));
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").cookie(authCookie))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").cookie(adminCookie))
+                .andExpect(status().isOk());
+    }
+
     // --- Create ---
 
     @Test
@@ -107,6 +127,59 @@ class TaskControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createTasks_batch_returns201_withAllCreatedTasks() throws Exception {
+        String body = objectMapper.writeValueAsString(List.of(
+                Map.of("title", "First"),
+                Map.of("title", "Second", "status", "DONE"),
+                Map.of("title", "Third", "description", "With notes")));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .cookie(authCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].id", everyItem(notNullValue())))
+                .andExpect(jsonPath("$[*].title", contains("First", "Second", "Third")))
+                .andExpect(jsonPath("$[1].status").value("DONE"));
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .cookie(authCookie))
+                .andExpect(jsonPath("$.total").value(3));
+    }
+
+    @Test
+    void createTasks_batch_returns400_andCreatesNothing_whenOneTaskIsInvalid() throws Exception {
+        String body = objectMapper.writeValueAsString(List.of(
+                Map.of("title", "Valid"),
+                Map.of("description", "No title")));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .cookie(authCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.message").value(startsWith("[1].title")));
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void createTasks_batch_returns400_whenOverLimit() throws Exception {
+        List<Map<String, String>> tasks = Collections.nCopies(501, Map.of("title", "Too many"));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .cookie(authCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tasks)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
+
     // --- Read ---
 
     @Test
@@ -181,6 +254,50 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
     }
 
+    @Test
+    void updateTask_withIfMatch_appliesOnce_thenReturns412ForStaleVersion() throws Exception {
+        String response = mockMvc.perform(post("/api/tasks")
+                        .cookie(authCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Original"))))
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(get("/api/tasks/" + taskId)
+                        .cookie(authCookie))
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.version").value(0));
+
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "DONE"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.title").value("Original"))
+                .andExpect(jsonPath("$.status").value("DONE"));
+
+        // A second tab still holding version 0 must not overwrite the change
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Stale edit"))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("PRECONDITION_FAILED"));
+
+        mockMvc.perform(delete("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-Match", "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-Match", "\"1\""))
+                .andExpect(status().isNoContent());
+    }
+
     @Test
     void updateTask_returns404_whenNotFound() throws Exception {
         String body = objectMapper.writeValueAsString(Map.of("title", "Nope"));
@@ -252,6 +369,101 @@ class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // --- Bulk ---
+
+    @Test
+    void bulkUpdate_movesFilteredTasksToNewStatus() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(
+                        Map.of("title", "Started one", "status", "IN_PROGRESS"),
+                        Map.of("title", "Started two", "status", "IN_PROGRESS"),
+                        Map.of("title", "Not started")))));
+
+        mockMvc.perform(patch("/api/tasks")
+                        .cookie(authCookie)
+                        .param("status", "IN_PROGRESS")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "DONE"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .cookie(authCookie))
+                .andExpect(jsonPath("$.byStatus.DONE").value(2))
+                .andExpect(jsonPath("$.byStatus.TODO").value(1));
+    }
+
+    @Test
+    void bulkUpdate_movesTheETagOn_soStaleVersionsAreRejected() throws Exception {
+        String response = mockMvc.perform(post("/api/tasks")
+                        .cookie(authCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Bulk target"))))
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(patch("/api/tasks")
+                        .cookie(authCookie)
+                        .param("ids", String.valueOf(taskId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "DONE"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        mockMvc.perform(get("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andExpect(jsonPath("$.status").value("DONE"));
+
+        // A client that read the task before the bulk change must not overwrite it
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "TODO"))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-Match", "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void bulkDelete_removesOnlyOwnTasksById() throws Exception {
+        String created = mockMvc.perform(post("/api/tasks/batch")
+                        .cookie(authCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                Map.of("title", "Delete me"),
+                                Map.of("title", "Keep me")))))
+                .andReturn().getResponse().getContentAsString();
+        long deleteId = objectMapper.readTree(created).get(0).get("id").asLong();
+
+        mockMvc.perform(delete("/api/tasks")
+                        .cookie(authCookie)
+                        .param("ids", String.valueOf(deleteId), "999999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie))
+                .andExpect(jsonPath("$.content[*].title", contains("Keep me")));
+    }
+
+    @Test
+    void bulkDelete_returns400_withoutSelectors() throws Exception {
+        mockMvc.perform(delete("/api/tasks")
+                        .cookie(authCookie))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
+
     // --- Search ---
 
     @Test
@@ -272,4 +484,400 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.content", hasSize(1)))
                 .andExpect(jsonPath("$.content[0].title").value("Buy groceries"));
     }
+
+    @Test
+    void searchTasks_substringMode_matchesInsideWords() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Buy groceries"))));
+
+        // Full-text matches word prefixes only
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("query", "ocerie"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("query", "ocerie")
+                        .param("mode", "substring"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Buy groceries"));
+    }
+
+    @Test
+    void searchTasks_fuzzy_matchesMisspellingsWithinStatus() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Quarterly report"))));
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Report expenses", "status", "DONE"))));
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("query", "reprot")
+                        .param("fuzzy", "true")
+                        .param("status", "TODO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title").value("Quarterly report"));
+    }
+
+    @Test
+    void searchTasks_fuzzy_reportsEstimatedTotals_whenMoreMatchThanAreRanked() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .cookie(authCookie)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("title", "Invoicing " + i))));
+        }
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Invoice for March"))));
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("query", "invoice")
+                        .param("fuzzy", "true")
+                        .param("size", "2")
+                        .param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totals").value("estimated"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("query", "invoice")
+                        .param("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(3)))
+                .andExpect(jsonPath("$.content[0].title").value("Invoice for March"))
+                .andExpect(jsonPath("$.totals").value("estimated"));
+    }
+
+    // --- Stats ---
+
+    @Test
+    void getStats_returnsCountsByStatus() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Open"))));
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Finished", "status", "DONE"))));
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .cookie(authCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byStatus.TODO").value(1))
+                .andExpect(jsonPath("$.byStatus.IN_PROGRESS").value(0))
+                .andExpect(jsonPath("$.byStatus.DONE").value(1))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.overdue").value(0));
+    }
+
+    // --- Totals policy ---
+
+    @Test
+    void searchTasks_totalsNone_skipsCountButReportsHasNext() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .cookie(authCookie)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("title", "Task " + i))));
+        }
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("size", "2")
+                        .param("totals", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totals").value("none"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    void searchTasks_totalsEstimated_usesPerUserCounter() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .cookie(authCookie)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("title", "Task " + i))));
+        }
+        Long deletedId = taskRepository.findAllByUserIdOrderByCreatedAtDesc(userId).get(0).getId();
+        mockMvc.perform(delete("/api/tasks/" + deletedId).cookie(authCookie));
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("size", "2")
+                        .param("totals", "estimated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totals").value("estimated"))
+                .andExpect(jsonPath("$.totalElements").value(4))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        // Filtered lists fall back to the planner estimate, which never undercuts the page
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("size", "2")
+                        .param("query", "task")
+                        .param("totals", "estimated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(greaterThanOrEqualTo(3)));
+    }
+
+    // --- Conditional GET ---
+
+    @Test
+    void getAllTasks_returns304_untilATaskChanges() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "First"))));
+
+        String eTag = mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"" + userId + "-")))
+                .andExpect(header().string("Cache-Control", allOf(containsString("no-cache"), containsString("private"))))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Second"))));
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.content", hasSize(2)));
+    }
+
+    @Test
+    void getTaskById_returns304_forCurrentVersion() throws Exception {
+        String response = mockMvc.perform(post("/api/tasks")
+                        .cookie(authCookie)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Cached"))))
+                .andReturn().getResponse().getContentAsString();
+        Long taskId = objectMapper.readTree(response).get("id").asLong();
+
+        mockMvc.perform(get("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/tasks/" + taskId)
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "Changed"))));
+
+        mockMvc.perform(get("/api/tasks/" + taskId)
+                        .cookie(authCookie)
+                        .header("If-None-Match", "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Changed"));
+    }
+
+    // --- Cursor pagination ---
+
+    @Test
+    void scrollTasks_walksAllPagesWithCursor() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .cookie(authCookie)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("title", "Task " + i))));
+        }
+
+        String first = mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("pagination", "cursor")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Task 4", "Task 3")))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("pagination", "cursor")
+                        .param("cursor", objectMapper.readTree(first).get("nextCursor").asText())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Task 2", "Task 1")))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("pagination", "cursor")
+                        .param("cursor", objectMapper.readTree(second).get("nextCursor").asText())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].title", contains("Task 0")))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void scrollTasks_returns400_forInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .cookie(authCookie)
+                        .param("pagination", "cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
+
+    // --- Export ---
+
+    @Test
+    void exportTasks_streamsNdjson_oneTaskPerLine() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/tasks")
+                    .cookie(authCookie)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("title", "Task " + i))));
+        }
+
+        String body = mockMvc.perform(get("/api/tasks/export").cookie(authCookie))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines.get(0)).get("title").asText()).isEqualTo("Task 2");
+        assertThat(objectMapper.readTree(lines.get(2)).get("status").asText()).isEqualTo("TODO");
+    }
+
+    @Test
+    void exportTasks_writesCsv_quotingWhereNeeded() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "title", "Call \"Bob\", then Alice",
+                        "description", "line one\nline two"))));
+
+        String body = mockMvc.perform(get("/api/tasks/export").cookie(authCookie).param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).startsWith("id,title,description,status,priority,dueAt,createdAt,updatedAt,version\r\n");
+        assertThat(body).contains(",\"Call \"\"Bob\"\", then Alice\",\"line one\nline two\",TODO,");
+        assertThat(body).endsWith(",0\r\n");
+    }
+
+    @Test
+    void exportTasks_returns400_forUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").cookie(authCookie).param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("BAD_REQUEST"));
+    }
+
+    // --- Import ---
+
+    @Test
+    void importTasks_loadsValidNdjsonRows_andReportsTheRest() throws Exception {
+        String body = """
+                {"title":"First","description":"with\\ttab and \\\\ backslash"}
+
+                {"title":"","status":"DONE"}
+                {"title":"Second","status":"IN_PROGRESS"}
+                not json
+                {"title":"Third","status":"LATER"}
+                """;
+
+        mockMvc.perform(post("/api/tasks/import")
+                        .cookie(authCookie)
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("title: must not be blank"))
+                .andExpect(jsonPath("$.errors[1].line").value(5))
+                .andExpect(jsonPath("$.errors[2].line").value(6));
+
+        mockMvc.perform(get("/api/tasks").cookie(authCookie).param("sortBy", "title").param("sortDir", "asc"))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("First"))
+                .andExpect(jsonPath("$.content[0].description").value("with\ttab and \\ backslash"))
+                .andExpect(jsonPath("$.content[1].status").value("IN_PROGRESS"));
+        mockMvc.perform(get("/api/tasks/stats").cookie(authCookie))
+                .andExpect(jsonPath("$.total").value(2));
+    }
+
+    @Test
+    void importTasks_readsCsvExports() throws Exception {
+        mockMvc.perform(post("/api/tasks")
+                .cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "title", "Call \"Bob\", then Alice",
+                        "description", "line one\nline two"))));
+        String csv = mockMvc.perform(get("/api/tasks/export").cookie(authCookie).param("format", "csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        String body = csv + "99,Too long," + "x".repeat(2001) + ",TODO,,,,,0\r\n";
+        mockMvc.perform(post("/api/tasks/import")
+                        .cookie(authCookie)
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                // The header is line 1 and the exported task spans lines 2 and 3
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].message").value("description: size must be between 0 and 2000"));
+
+        mockMvc.perform(get("/api/tasks").cookie(authCookie))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Call \"Bob\", then Alice"))
+                .andExpect(jsonPath("$.content[0].description").value("line one\nline two"));
+    }
+
+    @Test
+    void importTasks_returns400_forCsvWithoutTitleColumn() throws Exception {
+        mockMvc.perform(post("/api/tasks/import")
+                        .cookie(authCookie)
+                        .param("format", "csv")
+                        .contentType("text/csv")
+                        .content("name,status\r\nSomething,TODO\r\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("CSV header must include a title column"));
+
+        mockMvc.perform(get("/api/tasks").cookie(authCookie))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
 }
@@ -0,0 +1,104 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports 1M tasks over HTTP in a JVM whose heap could not hold them: the rows alone would take
+ * several hundred MB as TaskResponse objects, and the NDJSON output about as much again.
+ * Runs in its own JVM with a small -Xmx (the small-heap surefire execution in pom.xml).
+ */
+@Tag("small-heap")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.io.ngrabner.task_tracker_api.config.RequestLoggingFilter=WARN")
+@Import(TestcontainersConfiguration.class)
+class TaskExportHeapTest {
+
+    private static final int TASKS = 1_000_000;
+    private static final long MAX_HEAP = 128L * 1024 * 1024;
+
+    @Autowired private WebServerApplicationContext context;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+
+    private String cookie;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+
+        Long userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (google_sub, email) VALUES ('google-export', 'export@example.com')
+                RETURNING id
+                """, Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (user_id, title, description, status, priority, created_at, updated_at)
+                SELECT ?, 'Task ' || g, 'Exported, with "quotes" and commas ' || g, 'TODO', 'MEDIUM',
+                       now() - g * interval '1 second', now()
+                FROM generate_series(1, ?) AS g
+                """, userId, TASKS);
+        cookie = "tt_access=" + jwtService.createToken(userId, "export@example.com");
+    }
+
+    @Test
+    void exportsMillionRows_inASmallHeap() throws Exception {
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThanOrEqualTo(MAX_HEAP);
+
+        long start = System.nanoTime();
+        assertThat(export("ndjson")).isEqualTo(TASKS);
+        long ndjsonMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        // Header line plus one per task
+        assertThat(export("csv")).isEqualTo(TASKS + 1);
+        long csvMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%n%,d tasks exported with a %d MB max heap: ndjson %,d ms, csv %,d ms%n",
+                TASKS, MAX_HEAP / (1024 * 1024), ndjsonMillis, csvMillis);
+    }
+
+    // Reads the response as it arrives and only counts lines
+    private long export(String format) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + context.getWebServer().getPort() + "/api/tasks/export?format=" + format))
+                .header("Cookie", cookie)
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        long lines = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    lines++;
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,142 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.domain.User;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import io.ngrabner.task_tracker_api.service.TaskService;
+import io.ngrabner.task_tracker_api.web.dto.task.CreateTaskRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Import throughput in rows per second: POST /api/tasks/import (NDJSON and CSV, parsed,
+ * validated and loaded through COPY) against createTasks in batches of 500, the fastest path
+ * before it. Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestcontainersConfiguration.class)
+class TaskImportBenchmarkTest {
+
+    private static final int BATCHED_TASKS = 50_000;
+    private static final int IMPORTED_TASKS = 500_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired private WebServerApplicationContext context;
+    @Autowired private TaskService taskService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private Long userId;
+    private String cookie;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setGoogleSub("google-bench-import");
+        user.setEmail("bench-import@example.com");
+        userId = userRepository.save(user).getId();
+        cookie = "tt_access=" + jwtService.createToken(userId, "bench-import@example.com");
+    }
+
+    @Test
+    void importThroughput_copyVsBatch() throws Exception {
+        byte[] ndjson = ndjson(IMPORTED_TASKS);
+        byte[] csv = csv(IMPORTED_TASKS);
+        // Warm up both paths
+        importTasks("ndjson", ndjson(10_000));
+        importTasks("csv", csv(10_000));
+        taskService.createTasks(userId, batch());
+        taskRepository.deleteAllInBatch();
+
+        System.out.printf("%n%-22s %10s %10s %12s%n", "path", "tasks", "total ms", "tasks/s");
+
+        long start = System.nanoTime();
+        List<CreateTaskRequest> batch = batch();
+        for (int created = 0; created < BATCHED_TASKS; created += BATCH_SIZE) {
+            taskService.createTasks(userId, batch);
+        }
+        double batchedPerSecond = report("batch of " + BATCH_SIZE, BATCHED_TASKS, start);
+
+        start = System.nanoTime();
+        importTasks("ndjson", ndjson);
+        double ndjsonPerSecond = report("import ndjson (COPY)", IMPORTED_TASKS, start);
+
+        start = System.nanoTime();
+        importTasks("csv", csv);
+        double csvPerSecond = report("import csv (COPY)", IMPORTED_TASKS, start);
+
+        assertThat(taskRepository.count()).isEqualTo(BATCHED_TASKS + 2L * IMPORTED_TASKS);
+        assertThat(ndjsonPerSecond).isGreaterThan(batchedPerSecond);
+        assertThat(csvPerSecond).isGreaterThan(batchedPerSecond);
+    }
+
+    private void importTasks(String format, byte[] body) throws Exception {
+        URI uri = URI.create(
+                "http://localhost:" + context.getWebServer().getPort() + "/api/tasks/import?format=" + format);
+        HttpResponse<String> response = http.send(
+                HttpRequest.newBuilder(uri)
+                        .header("Cookie", cookie)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"rejected\":0");
+    }
+
+    private static double report(String label, int tasks, long startNanos) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        double perSecond = tasks / (millis / 1000.0);
+        System.out.printf("%-22s %,10d %10.1f %,12.0f%n", label, tasks, millis, perSecond);
+        return perSecond;
+    }
+
+    private static byte[] ndjson(int count) {
+        StringBuilder body = new StringBuilder(count * 96);
+        for (int i = 0; i < count; i++) {
+            body.append("{\"title\":\"Imported task ").append(i)
+                    .append("\",\"description\":\"Migrated from another tracker\",\"status\":\"TODO\"}\n");
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] csv(int count) {
+        StringBuilder body = new StringBuilder(count * 64).append("title,description,status\r\n");
+        for (int i = 0; i < count; i++) {
+            body.append("Imported task ").append(i).append(",\"Migrated, from another tracker\",TODO\r\n");
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<CreateTaskRequest> batch() {
+        List<CreateTaskRequest> requests = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setTitle("Imported task " + i);
+            request.setDescription("Migrated from another tracker");
+            requests.add(request);
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,137 @@
+package io.ngrabner.task_tracker_api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.ngrabner.task_tracker_api.domain.User;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.TaskChangeNotifier;
+import io.ngrabner.task_tracker_api.service.TaskService;
+import io.ngrabner.task_tracker_api.web.dto.PagedResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.CreateTaskRequest;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskStatus;
+import io.ngrabner.task_tracker_api.web.dto.task.UpdateTaskRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class TaskReadCacheTest {
+
+    @Autowired private TaskService taskService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setGoogleSub("google-cache");
+        user.setEmail("cache@example.com");
+        userId = userRepository.save(user).getId();
+
+        taskService.createTask(userId, newTask("Buy groceries"));
+        awaitOwnNotification();
+    }
+
+    @Test
+    void searchTasks_servesRepeatedPagesFromCache() {
+        double hits = cacheGets("hit");
+
+        PagedResponse<TaskResponse> first = search("groceries");
+        // A change that bypasses TaskService is invisible while the entry is live
+        jdbcTemplate.update("UPDATE tasks SET title = 'Renamed' WHERE user_id = ?", userId);
+        PagedResponse<TaskResponse> second = search("Groceries ");
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getContent().get(0).getTitle()).isEqualTo("Buy groceries");
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void writes_invalidateTheUsersEntries() {
+        assertThat(search(null).getTotalElements()).isEqualTo(1);
+
+        TaskResponse created = taskService.createTask(userId, newTask("Pay invoice"));
+        assertThat(search(null).getTotalElements()).isEqualTo(2);
+
+        UpdateTaskRequest update = new UpdateTaskRequest();
+        update.setStatus(TaskStatus.DONE);
+        taskService.updateTask(userId, created.getId(), update, null);
+        assertThat(taskService.getTask(userId, created.getId()).getStatus()).isEqualTo(TaskStatus.DONE);
+
+        taskService.deleteTasks(userId, List.of(created.getId()), null, null, "fulltext");
+        assertThat(search(null).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void writesAnnouncedByAnotherInstance_invalidateTheUsersEntries() throws InterruptedException {
+        search("groceries");
+
+        // What another instance's TaskService does: write, then pg_notify in the same transaction
+        jdbcTemplate.update("UPDATE tasks SET title = 'Buy groceries today' WHERE user_id = ?", userId);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, TaskChangeNotifier.CHANNEL,
+                "{\"userId\":" + userId + ",\"type\":\"updated\",\"ids\":null}");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!search("groceries").getContent().get(0).getTitle().equals("Buy groceries today")
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(search("groceries").getContent().get(0).getTitle()).isEqualTo("Buy groceries today");
+    }
+
+    @Test
+    void failedWrites_leaveTheCacheAlone() {
+        PagedResponse<TaskResponse> first = search(null);
+        Long taskId = first.getContent().get(0).getId();
+
+        try {
+            taskService.deleteTask(userId, taskId, 42L);
+        } catch (RuntimeException expected) {
+            // stale If-Match: rolled back
+        }
+
+        assertThat(search(null)).isSameAs(first);
+    }
+
+    // The write is announced back to this instance too, which drops the user's entries once more;
+    // wait until that has happened, so the tests only see their own invalidations
+    private void awaitOwnNotification() throws InterruptedException {
+        PagedResponse<TaskResponse> cached;
+        do {
+            cached = search(null);
+            Thread.sleep(100);
+        } while (search(null) != cached);
+    }
+
+    private PagedResponse<TaskResponse> search(String query) {
+        return taskService.searchTasks(userId, query, null, 0, 20, "createdAt", "desc", "fulltext", "exact");
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "tasks.read").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static CreateTaskRequest newTask(String title) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle(title);
+        return request;
+    }
+}
@@ -0,0 +1,153 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.domain.Task;
+import io.ngrabner.task_tracker_api.domain.User;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.TaskService;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 100-row pages: managed entities copied into TaskResponse (the old read path) vs the
+ * TaskResponse projection queries in a read-only transaction. Reports latency and bytes
+ * allocated per request on the calling thread.
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+// Every run must reach the database, not the read cache
+@SpringBootTest(properties = "app.tasks.read-cache.ttl=0s")
+@Import(TestcontainersConfiguration.class)
+class TaskReadPathBenchmarkTest {
+
+    private static final int TASKS = 10_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int PAGES = 50;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    @Autowired private TaskService taskService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private EntityManager entityManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setGoogleSub("google-bench-read");
+        user.setEmail("bench-read@example.com");
+        userId = userRepository.save(user).getId();
+
+        jdbcTemplate.update("""
+                INSERT INTO tasks (user_id, title, description, status, priority, due_at, created_at, updated_at)
+                SELECT ?, 'Invoice ref' || g, 'Notes about the invoice item ' || g,
+                       (ARRAY['TODO','IN_PROGRESS','DONE'])[1 + g % 3], 'MEDIUM',
+                       now() + g * interval '1 hour',
+                       now() - g * interval '1 second', now() - g * interval '1 second'
+                FROM generate_series(1, ?) AS g
+                """, userId, TASKS);
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @Test
+    void readPath_entityVsProjection() {
+        System.out.printf("%n%,d tasks, %d-row pages%n", TASKS, PAGE_SIZE);
+        System.out.printf("%-22s %10s %10s %14s%n", "path", "p50 ms", "p95 ms", "KB alloc/req");
+
+        measure("entity (list)", page -> entityPage(page, null));
+        measure("projection (list)", page -> projectionPage(page, null, "substring"));
+        measure("entity (full-text)", page -> entityPage(page, "invoice:*"));
+        measure("projection (full-text)", page -> projectionPage(page, "invoice", "fulltext"));
+    }
+
+    // What searchTasks did before: managed entities plus a count in a read-write transaction, copied field by field
+    @SuppressWarnings("unchecked")
+    private int entityPage(int page, String tsQuery) {
+        return transactionTemplate.execute(status -> {
+            Query query = tsQuery == null
+                    ? entityManager.createQuery("SELECT t FROM Task t WHERE t.userId = :userId ORDER BY t.createdAt DESC")
+                    : entityManager.createNativeQuery(TaskRepository.FULL_TEXT_SELECT + " ORDER BY t.created_at DESC",
+                                    Task.class)
+                            .setParameter("tsQuery", tsQuery)
+                            .setParameter("status", "");
+            List<Task> tasks = query.setParameter("userId", userId)
+                    .setFirstResult(page * PAGE_SIZE)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            long total = tsQuery == null
+                    ? taskRepository.countTasks(userId, null, null)
+                    : taskRepository.countTasksFullText(userId, tsQuery, null);
+            List<TaskResponse> content = tasks.stream()
+                    .map(t -> new TaskResponse(t.getId(), t.getTitle(), t.getDescription(),
+                            TaskStatus.valueOf(t.getStatus()), t.getCreatedAt(), t.getUpdatedAt(),
+                            t.getPriority(), t.getDueAt(), t.getVersion()))
+                    .toList();
+            assertThat(total).isEqualTo(TASKS);
+            return content.size();
+        });
+    }
+
+    private int projectionPage(int page, String query, String mode) {
+        return taskService.searchTasks(userId, query, null, page, PAGE_SIZE, "createdAt", "desc", mode, "exact")
+                .getContent().size();
+    }
+
+    private void measure(String label, PageReader reader) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            readAllPages(reader);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        double[] millis = new double[ROUNDS * PAGES];
+        long allocated = 0;
+        int n = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int page = 0; page < PAGES; page++) {
+                long bytesBefore = threads.getThreadAllocatedBytes(thread);
+                long start = System.nanoTime();
+                int rows = reader.read(page);
+                millis[n++] = (System.nanoTime() - start) / 1_000_000.0;
+                allocated += threads.getThreadAllocatedBytes(thread) - bytesBefore;
+                assertThat(rows).isEqualTo(PAGE_SIZE);
+            }
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-22s %10.2f %10.2f %14.1f%n", label,
+                millis[n / 2], millis[(int) Math.ceil(n * 0.95) - 1], allocated / 1024.0 / n);
+    }
+
+    private void readAllPages(PageReader reader) {
+        for (int page = 0; page < PAGES; page++) {
+            reader.read(page);
+        }
+    }
+
+    private interface PageReader {
+        int read(int page);
+    }
+}
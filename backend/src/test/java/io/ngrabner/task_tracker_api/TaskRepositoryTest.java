@@ -1,19 +1,26 @@
 package io.ngrabner.task_tracker_api;
 
 import io.ngrabner.task_tracker_api.domain.Task;
+import io.ngrabner.task_tracker_api.domain.TaskStats;
 import io.ngrabner.task_tracker_api.domain.User;
 import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.TaskStatsRepository;
 import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.web.dto.task.BulkTaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskStatus;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +37,12 @@ class TaskRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskStatsRepository taskStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private Long userId;
     private Long otherUserId;
 
@@ -91,70 +104,297 @@ class TaskRepositoryTest {
     }
 
     @Test
-    void searchTasks_filtersByQuery() {
+    void sliceResponses_filtersByQuery() {
         createTask(userId, "Buy groceries", "TODO");
         createTask(userId, "Read a book", "TODO");
 
-        Page<Task> result = taskRepository.searchTasks(
+        Slice<TaskResponse> result = taskRepository.sliceResponses(
                 userId, "groceries", null,
                 PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
 
-        assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).getTitle()).isEqualTo("Buy groceries");
+        assertThat(result.getContent()).extracting(TaskResponse::getTitle).containsExactly("Buy groceries");
     }
 
     @Test
-    void searchTasks_filtersByStatus() {
+    void sliceResponses_filtersByStatus() {
         createTask(userId, "Task A", "TODO");
         createTask(userId, "Task B", "DONE");
         createTask(userId, "Task C", "TODO");
 
-        Page<Task> result = taskRepository.searchTasks(
+        Slice<TaskResponse> result = taskRepository.sliceResponses(
                 userId, null, "DONE",
                 PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
 
-        assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).getTitle()).isEqualTo("Task B");
+        assertThat(result.getContent()).extracting(TaskResponse::getTitle).containsExactly("Task B");
     }
 
     @Test
-    void searchTasks_paginatesResults() {
+    void sliceResponses_paginatesResults_andCountTasksGivesTheTotal() {
         for (int i = 0; i < 5; i++) {
             createTask(userId, "Task " + i, "TODO");
         }
 
-        Page<Task> page0 = taskRepository.searchTasks(
+        Slice<TaskResponse> page0 = taskRepository.sliceResponses(
                 userId, null, null,
                 PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdAt")));
+        Slice<TaskResponse> page2 = taskRepository.sliceResponses(
+                userId, null, null,
+                PageRequest.of(2, 2, Sort.by(Sort.Direction.DESC, "createdAt")));
 
         assertThat(page0.getContent()).hasSize(2);
-        assertThat(page0.getTotalElements()).isEqualTo(5);
-        assertThat(page0.getTotalPages()).isEqualTo(3);
+        assertThat(page0.hasNext()).isTrue();
+        assertThat(page2.getContent()).hasSize(1);
+        assertThat(page2.hasNext()).isFalse();
+        assertThat(taskRepository.countTasks(userId, null, null)).isEqualTo(5);
     }
 
     @Test
-    void searchTasks_returnsEmpty_whenNoMatch() {
+    void sliceResponses_returnsEmpty_whenNoMatch() {
         createTask(userId, "Buy groceries", "TODO");
 
-        Page<Task> result = taskRepository.searchTasks(
+        Slice<TaskResponse> result = taskRepository.sliceResponses(
                 userId, "nonexistent", null,
                 PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
 
         assertThat(result.getContent()).isEmpty();
-        assertThat(result.getTotalElements()).isZero();
+        assertThat(taskRepository.countTasks(userId, "nonexistent", null)).isZero();
     }
 
     @Test
-    void searchTasks_doesNotReturnOtherUsersTasks() {
+    void sliceResponses_doesNotReturnOtherUsersTasks() {
         createTask(userId, "My Task", "TODO");
         createTask(otherUserId, "Their Task", "TODO");
 
-        Page<Task> result = taskRepository.searchTasks(
+        Slice<TaskResponse> result = taskRepository.sliceResponses(
                 userId, null, null,
                 PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
 
-        assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).getTitle()).isEqualTo("My Task");
+        assertThat(result.getContent()).extracting(TaskResponse::getTitle).containsExactly("My Task");
+    }
+
+    @Test
+    void sliceResponsesFullText_matchesWordPrefixes() {
+        createTask(userId, "Buy groceries", "TODO");
+        createTask(userId, "Read a book", "TODO");
+
+        Slice<TaskResponse> result = taskRepository.sliceResponsesFullText(
+                userId, "groc:*", null,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created_at")));
+
+        assertThat(result.getContent()).extracting(TaskResponse::getTitle).containsExactly("Buy groceries");
+        assertThat(taskRepository.countTasksFullText(userId, "groc:*", null)).isEqualTo(1);
+    }
+
+    @Test
+    void sliceResponsesFullText_filtersByStatusAndOwner() {
+        createTask(userId, "Report draft", "TODO");
+        createTask(userId, "Report final", "DONE");
+        createTask(otherUserId, "Report theirs", "DONE");
+
+        Slice<TaskResponse> result = taskRepository.sliceResponsesFullText(
+                userId, "report:*", "DONE",
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created_at")));
+
+        assertThat(result.getContent()).extracting(TaskResponse::getTitle).containsExactly("Report final");
+    }
+
+    @Test
+    void sliceResponsesFullTextByRank_ranksTitleMatchesFirst() {
+        Task inDescription = createTask(userId, "Weekly chores", "TODO");
+        inDescription.setDescription("remember the invoice");
+        taskRepository.saveAndFlush(inDescription);
+        createTask(userId, "Invoice for March", "TODO");
+
+        Slice<TaskResponse> result = taskRepository.sliceResponsesFullTextByRank(
+                userId, "invoice:*", null, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(TaskResponse::getTitle)
+                .containsExactly("Invoice for March", "Weekly chores");
+    }
+
+    @Test
+    void sliceResponsesFuzzy_toleratesTyposAndRanksBySimilarity() {
+        createTask(userId, "Buy groceries", "TODO");
+        createTask(userId, "Grocery store receipts", "TODO");
+        createTask(userId, "Read a book", "TODO");
+        createTask(otherUserId, "Buy groceries", "TODO");
+
+        taskRepository.setWordSimilarityThreshold("0.4");
+        Slice<TaskResponse> result = taskRepository.sliceResponsesFuzzy(
+                userId, "grocries", null, 1000, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(TaskResponse::getTitle)
+                .containsExactly("Buy groceries", "Grocery store receipts");
+    }
+
+    @Test
+    void findPageAfter_seeksPastCursorWithinStatus() {
+        for (int i = 0; i < 5; i++) {
+            createTask(userId, "Task " + i, i % 2 == 0 ? "TODO" : "DONE");
+        }
+        createTask(otherUserId, "Their Task", "TODO");
+
+        List<Task> first = taskRepository.findPageAfter(
+                userId, null, null, "TODO", "created_at", false, null, null, 2);
+        assertThat(first).extracting(Task::getTitle).containsExactly("Task 4", "Task 2");
+
+        Task last = first.get(1);
+        List<Task> second = taskRepository.findPageAfter(
+                userId, null, null, "TODO", "created_at", false, last.getCreatedAt(), last.getId(), 2);
+        assertThat(second).extracting(Task::getTitle).containsExactly("Task 0");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findPageAfter_byUpdatedAt_seeksAndOrdersOnAnIndex() {
+        Task task = createTask(userId, "Task", "TODO");
+        taskRepository.flush();
+        // A handful of rows would be read sequentially anyway; only check an index can serve it
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        List<String> plan = entityManager.createNativeQuery("""
+                EXPLAIN SELECT t.* FROM tasks t
+                WHERE t.user_id = :userId AND t.updated_at <= :afterValue
+                  AND (t.updated_at < :afterValue OR t.id < :afterId)
+                ORDER BY t.updated_at DESC, t.id DESC LIMIT 20
+                """)
+                .setParameter("userId", userId)
+                .setParameter("afterValue", task.getUpdatedAt())
+                .setParameter("afterId", task.getId())
+                .getResultList();
+
+        assertThat(String.join("\n", plan)).contains("idx_tasks_user_updated_at").doesNotContain("Sort");
+    }
+
+    @Test
+    void sliceResponsesFullText_mapsRowsAndReportsHasNextWithoutCounting() {
+        createTask(userId, "Report one", "TODO");
+        createTask(userId, "Report two", "DONE");
+        createTask(userId, "Report three", "TODO");
+
+        Slice<TaskResponse> first = taskRepository.sliceResponsesFullText(
+                userId, "report:*", null, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "created_at")));
+        Slice<TaskResponse> last = taskRepository.sliceResponsesFullText(
+                userId, "report:*", null, PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "created_at")));
+
+        assertThat(first.getContent()).extracting(TaskResponse::getTitle).containsExactly("Report three", "Report two");
+        assertThat(first.getContent().get(1).getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void sliceResponsesFuzzy_mapsRankedRows() {
+        createTask(userId, "Quarterly report", "TODO");
+        createTask(userId, "Buy groceries", "TODO");
+        taskRepository.setWordSimilarityThreshold("0.4");
+
+        Slice<TaskResponse> result = taskRepository.sliceResponsesFuzzy(userId, "reprot", null, 1000, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(TaskResponse::getTitle).containsExactly("Quarterly report");
+        assertThat(result.getContent().get(0).getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void sliceResponsesFuzzy_ranksTheClosestMatches_whenMoreThanTheCapMatch() {
+        for (int i = 0; i < 4; i++) {
+            createTask(userId, "Invoicing " + i, "TODO");
+        }
+        createTask(userId, "Invoice for March", "TODO");
+        taskRepository.setWordSimilarityThreshold("0.4");
+
+        Slice<TaskResponse> result = taskRepository.sliceResponsesFuzzy(userId, "invoice", null, 2, PageRequest.of(0, 10));
+
+        // The exact match was inserted last, so a scan in table order would not reach it before the cap
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getContent().get(0).getTitle()).isEqualTo("Invoice for March");
+        assertThat(taskRepository.countTasksFuzzy(userId, "invoice", null, 2)).isEqualTo(3);
+    }
+
+    @Test
+    void findResponseByIdAndUserId_respectsOwnership() {
+        Task saved = createTask(userId, "My Task", "IN_PROGRESS");
+
+        assertThat(taskRepository.findResponseByIdAndUserId(saved.getId(), userId))
+                .get().extracting(TaskResponse::getStatus).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(taskRepository.findResponseByIdAndUserId(saved.getId(), otherUserId)).isEmpty();
+    }
+
+    @Test
+    void estimateMatches_returnsPlannerRowEstimate() {
+        createTask(userId, "Report one", "TODO");
+
+        // Exact values depend on table statistics; only check the plan was read
+        assertThat(taskRepository.estimateFullTextMatches(userId, "report:*", "TODO")).isPositive();
+        assertThat(taskRepository.estimateSubstringMatches(userId, "rep", null)).isPositive();
+        assertThat(taskRepository.estimateFuzzyMatches(userId, "reprot", null)).isPositive();
+    }
+
+    @Test
+    void taskStats_followsInsertsStatusChangesAndDeletes() {
+        Task first = createTask(userId, "One", "TODO");
+        createTask(userId, "Two", "TODO");
+        Task third = createTask(userId, "Three", "IN_PROGRESS");
+        createTask(otherUserId, "Not mine", "DONE");
+
+        first.setStatus("DONE");
+        taskRepository.saveAndFlush(first);
+        taskRepository.delete(third);
+        taskRepository.flush();
+
+        TaskStats stats = taskStatsRepository.findById(userId).orElseThrow();
+        assertThat(stats.getTodoCount()).isEqualTo(1);
+        assertThat(stats.getInProgressCount()).isZero();
+        assertThat(stats.getDoneCount()).isEqualTo(1);
+        assertThat(stats.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void countOverdue_countsOnlyOpenTasksPastTheirDueDate() {
+        Instant now = Instant.now();
+        createTask(userId, "Late", "TODO").setDueAt(now.minusSeconds(3600));
+        createTask(userId, "Late but done", "DONE").setDueAt(now.minusSeconds(3600));
+        createTask(userId, "Not yet due", "IN_PROGRESS").setDueAt(now.plusSeconds(3600));
+        createTask(userId, "No due date", "TODO");
+        taskRepository.flush();
+
+        assertThat(taskRepository.countOverdue(userId, now)).isEqualTo(1);
+        assertThat(taskRepository.countOverdue(otherUserId, now)).isZero();
+    }
+
+    @Test
+    void updateStatusMatching_capsRowsAndReportsHasMore() {
+        createTask(userId, "Ship one", "IN_PROGRESS");
+        createTask(userId, "Ship two", "IN_PROGRESS");
+        createTask(userId, "Ship three", "IN_PROGRESS");
+        createTask(otherUserId, "Ship other", "IN_PROGRESS");
+
+        BulkTaskResponse first = taskRepository.updateStatusMatching(
+                userId, null, "ship:*", null, "IN_PROGRESS", "DONE", 2);
+        BulkTaskResponse second = taskRepository.updateStatusMatching(
+                userId, null, "ship:*", null, "IN_PROGRESS", "DONE", 2);
+
+        assertThat(first.getAffected()).isEqualTo(2);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getAffected()).isEqualTo(1);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(taskRepository.countTasks(otherUserId, null, "IN_PROGRESS")).isEqualTo(1);
+    }
+
+    @Test
+    void deleteMatching_bySubstringAndIds() {
+        Task keep = createTask(userId, "Old invoice", "DONE");
+        Task drop = createTask(userId, "Old receipt", "DONE");
+        createTask(userId, "New invoice", "TODO");
+
+        BulkTaskResponse result = taskRepository.deleteMatching(
+                userId, List.of(keep.getId(), drop.getId()), null, "%receipt%", null, 100);
+
+        // Query rather than findById: the bulk DELETE bypasses the persistence context
+        assertThat(result.getAffected()).isEqualTo(1);
+        assertThat(taskRepository.findResponseByIdAndUserId(drop.getId(), userId)).isEmpty();
+        assertThat(taskRepository.findResponseByIdAndUserId(keep.getId(), userId)).isPresent();
     }
 
     @Test
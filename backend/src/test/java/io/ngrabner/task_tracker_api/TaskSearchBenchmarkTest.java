@@ -0,0 +1,123 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.domain.User;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search latency at 10k / 100k / 1M tasks for a single user: full-text vs substring vs fuzzy.
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+// Every run must reach the database, not the read cache
+@SpringBootTest(properties = "app.tasks.read-cache.ttl=0s")
+@Import(TestcontainersConfiguration.class)
+class TaskSearchBenchmarkTest {
+
+    private static final int[] TASKS_PER_USER = { 10_000, 100_000, 1_000_000 };
+    // common word (1 in 8 rows), prefix of it, a rare two-word match, a misspelled rare word (1 in 10k rows), and a miss
+    private static final String[] QUERIES = { "invoice", "inv", "budget ref4711", "kuberntes", "nomatch" };
+    private static final String[] MODES = { "fulltext", "substring", "fuzzy" };
+    private static final int WARMUP = 3;
+    private static final int MIN_ITERATIONS = 3;
+    private static final int ITERATIONS = 20;
+    private static final long TIME_BUDGET_NANOS = 5_000_000_000L;
+
+    @Autowired private TaskService taskService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setGoogleSub("google-bench-sub");
+        user.setEmail("bench@example.com");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void searchLatency_byTasksPerUser() {
+        int seeded = 0;
+        for (int rows : TASKS_PER_USER) {
+            seed(seeded + 1, rows);
+            seeded = rows;
+            jdbcTemplate.execute("ANALYZE tasks");
+
+            System.out.printf("%n%,d tasks per user%n", rows);
+            System.out.printf("%-10s %-18s %10s %10s %10s %6s%n", "mode", "query", "hits", "p50 ms", "p95 ms", "runs");
+            for (String mode : MODES) {
+                for (String query : QUERIES) {
+                    measure(mode, query);
+                }
+            }
+        }
+    }
+
+    private void measure(String mode, String query) {
+        long hits = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            hits = search(mode, query);
+        }
+        // Slow combinations (unindexed scans at 1M rows) stop early once over budget
+        double[] millis = new double[ITERATIONS];
+        int runs = 0;
+        long deadline = System.nanoTime() + TIME_BUDGET_NANOS;
+        while (runs < ITERATIONS && (runs < MIN_ITERATIONS || System.nanoTime() < deadline)) {
+            long start = System.nanoTime();
+            search(mode, query);
+            millis[runs++] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        millis = Arrays.copyOf(millis, runs);
+        Arrays.sort(millis);
+        System.out.printf("%-10s %-18s %,10d %10.2f %10.2f %6d%n", mode, query, hits,
+                millis[runs / 2], millis[(int) Math.ceil(runs * 0.95) - 1], runs);
+
+        // Only fuzzy is expected to find the misspelling; substring also treats
+        // multi-word input as one phrase, so only full-text and fuzzy are checked
+        boolean expectHits = "fuzzy".equals(mode)
+                || ("fulltext".equals(mode) && !"kuberntes".equals(query));
+        if (expectHits && !"nomatch".equals(query)) {
+            assertThat(hits).isPositive();
+        }
+    }
+
+    private long search(String mode, String query) {
+        return taskService.searchTasks(userId, query, null, 0, 20, "createdAt", "desc", mode, "exact")
+                .getTotalElements();
+    }
+
+    // Set-based insert keeps seeding 1M rows to seconds rather than minutes
+    private void seed(int from, int to) {
+        jdbcTemplate.update("""
+                INSERT INTO tasks (user_id, title, description, status, created_at, updated_at)
+                SELECT ?,
+                       (ARRAY['Invoice','Quarterly','Groceries','Meeting','Deploy','Refactor','Review','Budget'])[1 + g % 8]
+                           || ' ref' || (g % 10000)
+                           || CASE WHEN g % 10000 = 0 THEN ' kubernetes upgrade' ELSE '' END,
+                       'Notes about the ' || (ARRAY['budget','report','invoice','release'])[1 + (g / 8) % 4]
+                           || ' item ' || g,
+                       (ARRAY['TODO','IN_PROGRESS','DONE'])[1 + g % 3],
+                       now() - g * interval '1 second',
+                       now() - g * interval '1 second'
+                FROM generate_series(?, ?) AS g
+                """, userId, from, to);
+    }
+}
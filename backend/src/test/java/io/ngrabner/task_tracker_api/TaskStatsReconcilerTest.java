@@ -0,0 +1,69 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.domain.Task;
+import io.ngrabner.task_tracker_api.domain.TaskStats;
+import io.ngrabner.task_tracker_api.domain.User;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.TaskStatsRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.TaskStatsReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class TaskStatsReconcilerTest {
+
+    @Autowired private TaskStatsReconciler reconciler;
+    @Autowired private TaskStatsRepository taskStatsRepository;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setGoogleSub("google-stats");
+        user.setEmail("stats@example.com");
+        userId = userRepository.save(user).getId();
+
+        for (String status : new String[] {"TODO", "TODO", "DONE"}) {
+            Task task = new Task();
+            task.setUserId(userId);
+            task.setTitle("Task");
+            task.setStatus(status);
+            taskRepository.save(task);
+        }
+    }
+
+    @Test
+    void reconcileAll_correctsDriftedCounts() {
+        jdbcTemplate.update("UPDATE task_stats SET todo_count = 7, done_count = 0 WHERE user_id = ?", userId);
+
+        assertThat(reconciler.reconcileAll()).isEqualTo(1);
+
+        TaskStats stats = taskStatsRepository.findById(userId).orElseThrow();
+        assertThat(stats.getTodoCount()).isEqualTo(2);
+        assertThat(stats.getDoneCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcile_recreatesMissingRow_andLeavesCorrectRowsAlone() {
+        jdbcTemplate.update("DELETE FROM task_stats WHERE user_id = ?", userId);
+
+        assertThat(reconciler.reconcile(userId)).isTrue();
+        assertThat(taskStatsRepository.findById(userId).orElseThrow().getTotal()).isEqualTo(3);
+        assertThat(reconciler.reconcile(userId)).isFalse();
+    }
+}
@@ -0,0 +1,197 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.domain.User;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.BadRequestException;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import io.ngrabner.task_tracker_api.service.TaskService;
+import io.ngrabner.task_tracker_api.service.TaskSyncService;
+import io.ngrabner.task_tracker_api.service.TaskTombstoneCompactor;
+import io.ngrabner.task_tracker_api.web.dto.task.CreateTaskRequest;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskChangesResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskResponse;
+import io.ngrabner.task_tracker_api.web.dto.task.TaskStatus;
+import io.ngrabner.task_tracker_api.web.dto.task.UpdateTaskRequest;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.tasks.sync.max-changes=" + TaskSyncTest.MAX_CHANGES)
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+class TaskSyncTest {
+
+    static final int MAX_CHANGES = 5;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private TaskSyncService syncService;
+    @Autowired private TaskTombstoneCompactor compactor;
+    @Autowired private TaskService taskService;
+    @Autowired private JwtService jwtService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DataSource dataSource;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM task_tombstones");
+        userId = newUser("google-sync").getId();
+        otherUserId = newUser("google-sync-other").getId();
+    }
+
+    @Test
+    void changes_returnWhatWasCreatedUpdatedAndDeleted_sinceTheToken() {
+        TaskResponse unchanged = taskService.createTask(userId, newTask("Unchanged"));
+        TaskResponse updated = taskService.createTask(userId, newTask("Updated"));
+        TaskResponse deleted = taskService.createTask(userId, newTask("Deleted"));
+        String token = syncService.changesSince(userId, null).getSyncToken();
+
+        TaskResponse created = taskService.createTask(userId, newTask("Created"));
+        UpdateTaskRequest update = new UpdateTaskRequest();
+        update.setStatus(TaskStatus.DONE);
+        taskService.updateTask(userId, updated.getId(), update, null);
+        taskService.deleteTask(userId, deleted.getId(), null);
+        taskService.createTask(otherUserId, newTask("Someone else's"));
+
+        TaskChangesResponse changes = syncService.changesSince(userId, token);
+
+        assertThat(changes.getTasks()).extracting(TaskResponse::getId)
+                .containsExactly(updated.getId(), created.getId())
+                .doesNotContain(unchanged.getId());
+        assertThat(changes.getTasks().get(0).getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(changes.getDeletedIds()).containsExactly(deleted.getId());
+
+        // Nothing new since the new token
+        TaskChangesResponse next = syncService.changesSince(userId, changes.getSyncToken());
+        assertThat(next.getTasks()).isEmpty();
+        assertThat(next.getDeletedIds()).isEmpty();
+    }
+
+    @Test
+    void writeThatCommitsAfterTheSync_isReportedByTheNextOne() throws Exception {
+        TaskResponse task = taskService.createTask(userId, newTask("Slow"));
+        String token = syncService.changesSince(userId, null).getSyncToken();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            // Stamped (updated_at) before the sync below, committed after it
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE tasks SET title = 'Late', updated_at = now() WHERE id = ?")) {
+                statement.setLong(1, task.getId());
+                statement.executeUpdate();
+            }
+            TaskChangesResponse during = syncService.changesSince(userId, token);
+            assertThat(during.getTasks()).isEmpty();
+            token = during.getSyncToken();
+            connection.commit();
+        }
+
+        TaskChangesResponse after = syncService.changesSince(userId, token);
+        assertThat(after.getTasks()).extracting(TaskResponse::getTitle).containsExactly("Late");
+    }
+
+    @Test
+    void endpoint_issuesTokens_andAnswers410WhenTheClientMustReload() throws Exception {
+        Cookie cookie = new Cookie("tt_access", jwtService.createToken(userId, "sync@example.com"));
+        mockMvc.perform(get("/api/tasks/changes").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.tasks").isEmpty())
+                .andExpect(jsonPath("$.deletedIds").isEmpty())
+                .andExpect(jsonPath("$.syncToken").isNotEmpty());
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", "not-a-token").cookie(cookie))
+                .andExpect(status().isBadRequest());
+
+        String expired = token("1:1:", Instant.now().minus(Duration.ofDays(31)));
+        mockMvc.perform(get("/api/tasks/changes").param("since", expired).cookie(cookie))
+                .andExpect(status().isGone());
+
+        String token = syncService.changesSince(userId, null).getSyncToken();
+        List<CreateTaskRequest> many = new ArrayList<>();
+        for (int i = 0; i <= MAX_CHANGES; i++) {
+            many.add(newTask("Task " + i));
+        }
+        taskService.createTasks(userId, many);
+        mockMvc.perform(get("/api/tasks/changes").param("since", token).cookie(cookie))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.message").value("More than 5 tasks changed, reload all tasks"));
+    }
+
+    @Test
+    void tokenFromAheadOfThisDatabase_isRejected() {
+        String ahead = token("9000000000:9000000000:", Instant.now());
+
+        assertThatThrownBy(() -> syncService.changesSince(userId, ahead))
+                .hasMessageContaining("does not match this database");
+        assertThatThrownBy(() -> syncService.changesSince(userId, token("1:1:x", Instant.now())))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void deletingAUser_leavesNoTombstones_andCompactionPurgesExpiredOnes() {
+        taskService.createTask(otherUserId, newTask("Goes with its user"));
+        TaskResponse old = taskService.createTask(userId, newTask("Old"));
+        TaskResponse recent = taskService.createTask(userId, newTask("Recent"));
+        taskService.deleteTask(userId, old.getId(), null);
+        taskService.deleteTask(userId, recent.getId(), null);
+        jdbcTemplate.update("UPDATE task_tombstones SET deleted_at = now() - interval '40 days' WHERE task_id = ?",
+                old.getId());
+
+        userRepository.deleteById(otherUserId);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM task_tombstones WHERE user_id = ?",
+                Long.class, otherUserId)).isZero();
+        assertThat(compactor.compact()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT task_id FROM task_tombstones", Long.class))
+                .containsExactly(recent.getId());
+    }
+
+    private static String token(String snapshot, Instant issuedAt) {
+        String raw = snapshot + "|" + issuedAt.getEpochSecond();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User newUser(String googleSub) {
+        User user = new User();
+        user.setGoogleSub(googleSub);
+        user.setEmail(googleSub + "@example.com");
+        return userRepository.save(user);
+    }
+
+    private static CreateTaskRequest newTask(String title) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle(title);
+        return request;
+    }
+}
@@ -0,0 +1,94 @@
+package io.ngrabner.task_tracker_api;
+
+import io.ngrabner.task_tracker_api.security.RateLimiter;
+import io.ngrabner.task_tracker_api.security.TokenBucketRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void allowsABurstOfMaxRequests_thenReportsTheWait() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(Duration.ofMinutes(1), 6, 100);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.allow("10.0.0.1")).isTrue();
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+
+        // One request is refilled every 10s
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(10));
+        assertThat(RateLimiter.toRetryAfterSeconds(wait)).isBetween(9L, 10L);
+        assertThat(limiter.allow("10.0.0.2")).isTrue();
+    }
+
+    @Test
+    void refillsContinuously() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(Duration.ofSeconds(2), 2, 100);
+
+        assertThat(limiter.allow("k")).isTrue();
+        assertThat(limiter.allow("k")).isTrue();
+        assertThat(limiter.allow("k")).isFalse();
+
+        Thread.sleep(1_200);
+
+        // Half the window has passed: one request is back, not a whole new window's worth
+        assertThat(limiter.allow("k")).isTrue();
+        assertThat(limiter.allow("k")).isFalse();
+    }
+
+    @Test
+    void neverAdmitsMoreThanTheLimit_underContention() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(Duration.ofHours(1), 100, 100);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.allow("hot")) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+
+    // A scan with spoofed X-Forwarded-For values: memory must stay at the cap, not grow per key
+    @Test
+    void staysBounded_with10MillionDistinctKeys() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(Duration.ofMinutes(1), 6, 10_000);
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        for (int i = 0; i < 10_000_000; i++) {
+            limiter.allow("198.51." + (i >>> 16) + "." + (i & 0xFFFF));
+        }
+
+        assertThat(limiter.trackedKeys()).isLessThanOrEqualTo(10_000);
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        // 10k entries are a few MB; 10M retained keys would be well over a GB
+        assertThat(after - before).isLessThan(64L * 1024 * 1024);
+    }
+}
@@ -0,0 +1,223 @@
+package io.ngrabner.task_tracker_api;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.ngrabner.task_tracker_api.repository.TaskRepository;
+import io.ngrabner.task_tracker_api.repository.UserRepository;
+import io.ngrabner.task_tracker_api.service.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2,000 concurrent connections against a platform-thread instance (this test's context) and a
+ * virtual-thread instance (started here on the same local Postgres), with every SQL statement
+ * delayed. Most connections list tasks, which waits on the connection pool; the rest call
+ * GET /api/me, which needs no database. With platform threads the task requests hold every
+ * Tomcat thread and /api/me queues behind them; with virtual threads it is answered at once.
+ * Both instances run without load shedding so only the threading model differs.
+ * Not part of the normal build: run with {@code mvn test -Pbenchmark} on JDK 21+.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21, disabledReason = "virtual threads need JDK 21")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        VirtualThreadsBenchmarkTest.NO_SHEDDING,
+        VirtualThreadsBenchmarkTest.NO_QUOTA,
+        VirtualThreadsBenchmarkTest.NO_READ_CACHE,
+        VirtualThreadsBenchmarkTest.POOL,
+        VirtualThreadsBenchmarkTest.QUIET
+})
+@Import({ TestcontainersConfiguration.class, DbLatency.class })
+class VirtualThreadsBenchmarkTest {
+
+    static final String NO_SHEDDING = "app.load-shedding.enabled=false";
+    static final String NO_QUOTA = "app.security.api-quota.max-requests=1000000000";
+    static final String NO_READ_CACHE = "app.tasks.read-cache.ttl=0s";
+    // Two instances share the server's 100 connections
+    static final String POOL = "spring.datasource.hikari.maximum-pool-size=40";
+    static final String QUIET = "logging.level.io.ngrabner.task_tracker_api.config.RequestLoggingFilter=WARN";
+
+    private static final long DB_DELAY_MILLIS = 20;
+    private static final int CONNECTIONS = 2_000;
+    private static final int FAST_CONNECTIONS = 100;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASURE = Duration.ofSeconds(15);
+
+    private record Stats(double okPerSecond, double p50, double p99, long errors) {}
+
+    private record Result(Stats tasks, Stats me) {}
+
+    @Autowired private WebServerApplicationContext context;
+    @Autowired private DataSource dataSource;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TaskRepository taskRepository;
+
+    private ConfigurableApplicationContext virtual;
+    // One user per task connection, so no two requests share a read-cache load
+    private final List<String> cookies = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DbLatency.delayMillis = 0;
+        taskRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+
+        List<Long> userIds = jdbcTemplate.queryForList("""
+                INSERT INTO users (google_sub, email)
+                SELECT 'google-bench-vt-' || g, 'bench-vt-' || g || '@example.com'
+                FROM generate_series(1, ?) AS g
+                RETURNING id
+                """, Long.class, CONNECTIONS);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (user_id, title, status, priority, created_at, updated_at)
+                SELECT u.id, 'Task ' || g, 'TODO', 'MEDIUM', now() - g * interval '1 second', now()
+                FROM users u, generate_series(1, 20) AS g
+                """);
+        cookies.clear();
+        for (Long userId : userIds) {
+            cookies.add("tt_access=" + jwtService.createToken(userId, "bench-vt@example.com"));
+        }
+
+        HikariDataSource db = dataSource.unwrap(HikariDataSource.class);
+        // Command-line arguments, so they win over application.yml like this context's properties do
+        virtual = new SpringApplicationBuilder(TaskTrackerApiApplication.class, DbLatency.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + db.getJdbcUrl(),
+                "--spring.datasource.username=" + db.getUsername(),
+                "--spring.datasource.password=" + db.getPassword(),
+                "--spring.threads.virtual.enabled=true",
+                "--" + NO_SHEDDING, "--" + NO_QUOTA, "--" + NO_READ_CACHE, "--" + POOL, "--" + QUIET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DbLatency.delayMillis = 0;
+        virtual.close();
+    }
+
+    @Test
+    void platformVsVirtualThreads_at2kConnections() {
+        DbLatency.delayMillis = DB_DELAY_MILLIS;
+
+        Result platform = run(context.getWebServer().getPort());
+        Result onVirtual = run(((WebServerApplicationContext) virtual).getWebServer().getPort());
+
+        System.out.printf("%n%,d connections (%d on /api/me), %d ms per SQL statement%n",
+                CONNECTIONS, FAST_CONNECTIONS, DB_DELAY_MILLIS);
+        System.out.printf("%-10s %-12s %8s %8s %9s %7s%n", "threads", "endpoint", "ok/s", "p50 ms", "p99 ms", "errors");
+        print("platform", platform);
+        print("virtual", onVirtual);
+
+        assertThat(onVirtual.tasks().errors()).isZero();
+        // Same pool, same database: the task throughput should not drop
+        assertThat(onVirtual.tasks().okPerSecond()).isGreaterThan(0.8 * platform.tasks().okPerSecond());
+        // Requests that need no connection no longer wait for a thread
+        assertThat(onVirtual.me().p99()).isLessThan(platform.me().p99() / 2);
+    }
+
+    private Result run(int port) {
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<HttpRequest> tasks = new ArrayList<>();
+        List<HttpRequest> me = new ArrayList<>();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            String path = i < FAST_CONNECTIONS ? "/api/me" : "/api/tasks?size=20";
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("Cookie", cookies.get(i))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            (i < FAST_CONNECTIONS ? me : tasks).add(request);
+        }
+
+        drive(http, List.of(tasks, me), WARMUP, null, null);
+
+        List<List<Long>> latencies = List.of(
+                Collections.synchronizedList(new ArrayList<>()), Collections.synchronizedList(new ArrayList<>()));
+        List<AtomicLong> errors = List.of(new AtomicLong(), new AtomicLong());
+        drive(http, List.of(tasks, me), MEASURE, latencies, errors);
+        return new Result(stats(latencies.get(0), errors.get(0)), stats(latencies.get(1), errors.get(1)));
+    }
+
+    // Every connection sends its next request as soon as the last one answers, without a thread per
+    // connection on the client side
+    private void drive(HttpClient http, List<List<HttpRequest>> groups, Duration duration,
+            List<List<Long>> latencies, List<AtomicLong> errors) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<CompletableFuture<Void>> connections = new ArrayList<>();
+        for (int g = 0; g < groups.size(); g++) {
+            for (HttpRequest request : groups.get(g)) {
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                connections.add(done);
+                loop(http, request, deadline, latencies == null ? null : latencies.get(g),
+                        errors == null ? null : errors.get(g), done);
+            }
+        }
+        CompletableFuture.allOf(connections.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void loop(HttpClient http, HttpRequest request, long deadline, List<Long> latencies, AtomicLong errors,
+            CompletableFuture<Void> done) {
+        long start = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            long elapsed = System.nanoTime() - start;
+            if (latencies != null) {
+                if (failure == null && response.statusCode() == 200) {
+                    latencies.add(elapsed);
+                } else {
+                    errors.incrementAndGet();
+                }
+            }
+            if (System.nanoTime() < deadline) {
+                loop(http, request, deadline, latencies, errors, done);
+            } else {
+                done.complete(null);
+            }
+        });
+    }
+
+    private static Stats stats(List<Long> latencies, AtomicLong errors) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Stats(sorted.size() / (MEASURE.toMillis() / 1000.0),
+                millis(sorted, 0.50), millis(sorted, 0.99), errors.get());
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(quantile * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static void print(String threads, Result r) {
+        System.out.printf("%-10s %-12s %8.0f %8.1f %9.1f %7d%n", threads, "/api/tasks",
+                r.tasks().okPerSecond(), r.tasks().p50(), r.tasks().p99(), r.tasks().errors());
+        System.out.printf("%-10s %-12s %8.0f %8.1f %9.1f %7d%n", threads, "/api/me",
+                r.me().okPerSecond(), r.me().p50(), r.me().p99(), r.me().errors());
+    }
+}
@@ -7,3 +7,8 @@ export async function apiFetch(path, options = {}) {
   });
   return res;
 }
+
+// Server-sent events with the auth cookie; the browser reconnects on its own
+export function apiEventSource(path) {
+  return new EventSource(`${API_BASE}${path}`, { withCredentials: true });
+}
@@ -1,11 +1,12 @@
 import { useState, useEffect } from "react";
-import { apiFetch } from "../api";
+import { apiFetch, apiEventSource } from "../api";
 
 const STATUS_OPTIONS = ["", "TODO", "IN_PROGRESS", "DONE"];
 const SORT_OPTIONS = [
   { value: "createdAt", label: "Created" },
   { value: "title", label: "Title" },
   { value: "updatedAt", label: "Updated" },
+  { value: "relevance", label: "Relevance" },
 ];
 
 export default function Tasks({ onLogout }) {
@@ -13,6 +14,8 @@ export default function Tasks({ onLogout }) {
   const [page, setPage] = useState(0);
   const [totalPages, setTotalPages] = useState(0);
   const [totalElements, setTotalElements] = useState(0);
+  const [hasNext, setHasNext] = useState(false);
+  const [totalsEstimated, setTotalsEstimated] = useState(false);
 
   const [query, setQuery] = useState("");
   const [debouncedQuery, setDebouncedQuery] = useState("");
@@ -27,6 +30,7 @@ export default function Tasks({ onLogout }) {
   const [editTitle, setEditTitle] = useState("");
   const [editDescription, setEditDescription] = useState("");
   const [editStatus, setEditStatus] = useState("TODO");
+  const [editVersion, setEditVersion] = useState(null);
 
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
@@ -55,6 +59,8 @@ export default function Tasks({ onLogout }) {
         });
         if (debouncedQuery) params.set("query", debouncedQuery);
         if (statusFilter) params.set("status", statusFilter);
+        // Exact counts only for the first page; paging on uses cheap estimates
+        if (page > 0) params.set("totals", "estimated");
 
         const res = await apiFetch(`/api/tasks?${params}`, {
           signal: abortController.signal,
@@ -65,6 +71,8 @@ export default function Tasks({ onLogout }) {
         setTasks(data.content);
         setTotalPages(data.totalPages);
         setTotalElements(data.totalElements);
+        setHasNext(data.hasNext);
+        setTotalsEstimated(data.totals === "estimated");
       } catch (err) {
         // Ignore abort errors - they're expected during cleanup
         if (err.name !== "AbortError") {
@@ -82,6 +90,30 @@ export default function Tasks({ onLogout }) {
     return () => abortController.abort();
   }, [page, debouncedQuery, statusFilter, sortBy, sortDir, refreshTrigger]);
 
+  // Refetch when tasks change elsewhere (another tab or device). Bursts of events
+  // (bulk edits, imports) are coalesced into one refetch.
+  useEffect(() => {
+    const events = apiEventSource("/api/tasks/stream");
+    let timer = null;
+    let connected = false;
+    const refreshSoon = () => {
+      clearTimeout(timer);
+      timer = setTimeout(() => setRefreshTrigger((n) => n + 1), 250);
+    };
+    // "ready" starts every (re)connection: changes may have been missed while it was down
+    events.addEventListener("ready", () => {
+      if (connected) refreshSoon();
+      connected = true;
+    });
+    for (const type of ["created", "updated", "deleted", "resync"]) {
+      events.addEventListener(type, refreshSoon);
+    }
+    return () => {
+      clearTimeout(timer);
+      events.close();
+    };
+  }, []);
+
   const handleSearch = (e) => {
     e.preventDefault();
     setPage(0);
@@ -114,6 +146,7 @@ export default function Tasks({ onLogout }) {
 
   const startEdit = (task) => {
     setEditingId(task.id);
+    setEditVersion(task.version);
     setEditTitle(task.title);
     setEditDescription(task.description || "");
     setEditStatus(task.status);
@@ -127,13 +160,19 @@ export default function Tasks({ onLogout }) {
     try {
       const res = await apiFetch(`/api/tasks/${taskId}`, {
         method: "PUT",
-        headers: { "Content-Type": "application/json" },
+        // Only applies if nobody changed the task since it was loaded
+        headers: { "Content-Type": "application/json", "If-Match": `"${editVersion}"` },
         body: JSON.stringify({
           title: editTitle.trim(),
           description: editDescription.trim() || null,
           status: editStatus,
         }),
       });
+      if (res.status === 412) {
+        setEditingId(null);
+        triggerRefresh();
+        throw new Error("This task was changed elsewhere. Reloaded the latest version.");
+      }
       if (!res.ok) throw new Error("Failed to update task");
 
       setEditingId(null);
@@ -333,7 +372,7 @@ export default function Tasks({ onLogout }) {
         )}
 
         {/* Pagination */}
-        {totalPages > 1 && (
+        {(totalPages > 1 || page > 0) && (
           <div style={{ marginTop: 24, display: "flex", justifyContent: "center", alignItems: "center", gap: 16 }}>
             <button
               onClick={() => setPage((p) => Math.max(0, p - 1))}
@@ -343,11 +382,11 @@ export default function Tasks({ onLogout }) {
               Previous
             </button>
             <span style={{ color: "var(--text-muted)" }}>
-              Page {page + 1} of {totalPages} ({totalElements} total)
+              Page {page + 1} of {totalsEstimated ? "~" : ""}{totalPages} ({totalsEstimated ? "~" : ""}{totalElements} total)
             </span>
             <button
-              onClick={() => setPage((p) => Math.min(totalPages - 1, p + 1))}
-              disabled={page >= totalPages - 1}
+              onClick={() => setPage((p) => p + 1)}
+              disabled={!hasNext}
               style={{ padding: "8px 16px" }}
             >
               Next